@@ -0,0 +1,150 @@
+package com.securevault.audit.repository;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+// Effect of the PgJDBC settings in application.properties on audit-event inserts and reads, with the statements
+// Hibernate issues for them: a 100-event batch sent in JDBC batches of hibernate.jdbc.batch_size, and the
+// newest-first page of one user's events. Needs a running Postgres (docker compose up -d postgres), so ./gradlew jmh
+// leaves it out; the rows go to a scratch table that is dropped afterwards. Run with
+//   ./gradlew jmhJar && java -Dbench.db.url=jdbc:postgresql://localhost:5433/securevault \
+//       -jar build/libs/audit-service-0.0.1-SNAPSHOT-jmh.jar AuditPersistenceBenchmark -rf json
+@State(Scope.Benchmark)
+public class AuditPersistenceBenchmark {
+
+    private static final int EVENTS_PER_REQUEST = 100;
+    private static final int JDBC_BATCH_SIZE = 100;
+    private static final int SEEDED_EVENTS = 10_000;
+
+    private static final String INSERT = """
+            insert into bench_audit_events (id, user_id, action, resource_type, resource_id, description, ip_address,
+                                            status, created_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String SELECT_PAGE = """
+            select id, user_id, action, resource_type, resource_id, description, ip_address, status, created_at
+            from bench_audit_events where user_id = ? order by created_at desc limit 20
+            """;
+
+    // Driver default (false) against the audit-service setting
+    @Param({"false", "true"})
+    private boolean reWriteBatchedInserts;
+
+    // 0 never prepares server-side; 5 is the driver default, 3 the services' setting
+    @Param({"0", "5", "3"})
+    private int prepareThreshold;
+
+    private HikariDataSource dataSource;
+    private final UUID readUser = UUID.randomUUID();
+    private final UUID writeUser = UUID.randomUUID();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        // Named explicitly: the merged service files of the benchmark jar do not register the driver
+        config.setDriverClassName("org.postgresql.Driver");
+        config.setJdbcUrl(System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5433/securevault"));
+        config.setUsername(System.getProperty("bench.db.username", "securevault"));
+        config.setPassword(System.getProperty("bench.db.password", "securevault"));
+        config.setMaximumPoolSize(1);
+        config.addDataSourceProperty("reWriteBatchedInserts", reWriteBatchedInserts);
+        config.addDataSourceProperty("prepareThreshold", prepareThreshold);
+        dataSource = new HikariDataSource(config);
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists bench_audit_events");
+            statement.execute("""
+                    create table bench_audit_events (
+                        id uuid primary key, user_id uuid, action varchar(255) not null, resource_type varchar(255),
+                        resource_id uuid, description varchar(500), ip_address varchar(45),
+                        status varchar(255) not null, created_at timestamp(6) not null)
+                    """);
+            statement.execute("create index bench_idx_audit_user_created on bench_audit_events (user_id, created_at)");
+        }
+        for (int i = 0; i < SEEDED_EVENTS; i += EVENTS_PER_REQUEST) {
+            insertEvents(readUser);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteWrittenEvents() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("delete from bench_audit_events where user_id = ?")) {
+            statement.setObject(1, writeUser);
+            statement.executeUpdate();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop table bench_audit_events");
+        }
+        dataSource.close();
+    }
+
+    // One POST /api/audit/events/batch of 100 events
+    @Benchmark
+    public int insertBatch() throws SQLException {
+        return insertEvents(writeUser);
+    }
+
+    // One GET /api/audit/events/user/{userId}
+    @Benchmark
+    public void readPage(Blackhole blackhole) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_PAGE)) {
+            statement.setObject(1, readUser);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    blackhole.consume(resultSet.getObject(1));
+                    blackhole.consume(resultSet.getString(6));
+                    blackhole.consume(resultSet.getTimestamp(9));
+                }
+            }
+        }
+    }
+
+    private int insertEvents(UUID userId) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                Timestamp now = Timestamp.from(Instant.now());
+                for (int i = 1; i <= EVENTS_PER_REQUEST; i++) {
+                    statement.setObject(1, UUID.randomUUID());
+                    statement.setObject(2, userId);
+                    statement.setString(3, "SECRET_READ");
+                    statement.setString(4, "SECRET");
+                    statement.setObject(5, UUID.randomUUID());
+                    statement.setString(6, "Secret read: api-key-" + i);
+                    statement.setString(7, "10.0.0." + i);
+                    statement.setString(8, "SUCCESS");
+                    statement.setTimestamp(9, now);
+                    statement.addBatch();
+                    if (i % JDBC_BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+            }
+            connection.commit();
+        }
+        return EVENTS_PER_REQUEST;
+    }
+}
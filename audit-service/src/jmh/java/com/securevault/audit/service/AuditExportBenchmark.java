@@ -0,0 +1,73 @@
+package com.securevault.audit.service;
+
+import com.securevault.audit.config.RecentWrites;
+import com.securevault.audit.config.ReplicaProperties;
+import com.securevault.audit.dto.AuditFilterRequest;
+import com.securevault.audit.entity.AuditEvent;
+import com.securevault.audit.model.AuditAction;
+import com.securevault.audit.model.EventStatus;
+import com.securevault.audit.model.ResourceType;
+import com.securevault.audit.repository.AuditEventRepository;
+import io.micrometer.tracing.Tracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageImpl;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// CSV export cost in AuditService per number of exported events, without the database query.
+// Run with ./gradlew jmh; the gc profiler reports bytes/op as gc.alloc.rate.norm.
+@State(Scope.Benchmark)
+public class AuditExportBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int events;
+
+    private AuditService auditService;
+    private final AuditFilterRequest filter = new AuditFilterRequest();
+
+    @Setup
+    public void setUp() {
+        List<AuditEvent> page = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            page.add(AuditEvent.builder()
+                    .id(UUID.randomUUID())
+                    .userId(UUID.randomUUID())
+                    .action(AuditAction.SECRET_READ)
+                    .resourceType(ResourceType.SECRET)
+                    .resourceId(UUID.randomUUID())
+                    // Every fourth description needs quoting
+                    .description(i % 4 == 0 ? "Secret read: db, \"primary\"" : "Secret read: api-key-" + i)
+                    .ipAddress("10.0.0." + (i % 256))
+                    .status(EventStatus.SUCCESS)
+                    .createdAt(LocalDateTime.now().minusSeconds(i))
+                    .build());
+        }
+        auditService = new AuditService(repositoryReturning(page), Tracer.NOOP, new RecentWrites(new ReplicaProperties()));
+    }
+
+    @Benchmark
+    public String exportCsv() {
+        return auditService.exportEventsAsCsv(filter);
+    }
+
+    // Answers the export query from memory so the benchmark measures mapping and CSV building only
+    private static AuditEventRepository repositoryReturning(List<AuditEvent> page) {
+        return (AuditEventRepository) Proxy.newProxyInstance(
+                AuditEventRepository.class.getClassLoader(),
+                new Class<?>[]{AuditEventRepository.class},
+                (proxy, method, args) -> {
+                    if ("findAll".equals(method.getName()) && args != null && args.length == 2) {
+                        return new PageImpl<>(page);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,35 @@
+package com.securevault.audit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Users whose own writes may not have reached the replica yet. Kept per instance: a read that lands on another
+// instance than the write is only bounded by datasource.replica.max-lag.
+@Component
+@RequiredArgsConstructor
+public class RecentWrites {
+
+    private final ReplicaProperties properties;
+    private final Map<UUID, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public void record(UUID userId) {
+        if (properties.isEnabled()) {
+            lastWrites.put(userId, System.nanoTime());
+        }
+    }
+
+    public boolean isRecent(UUID userId) {
+        Long lastWrite = lastWrites.get(userId);
+        return lastWrite != null && System.nanoTime() - lastWrite < properties.getReadYourWritesWindow().toNanos();
+    }
+
+    void purgeExpired() {
+        long now = System.nanoTime();
+        long window = properties.getReadYourWritesWindow().toNanos();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= window);
+    }
+}
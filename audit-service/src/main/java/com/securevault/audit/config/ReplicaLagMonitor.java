@@ -0,0 +1,77 @@
+package com.securevault.audit.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+// How far the replica's replay is behind the primary. A replica that streams from the primary and has replayed all
+// WAL it received counts as caught up, since pg_last_xact_replay_timestamp() keeps ageing while the primary is idle.
+// Without a streaming WAL receiver (disconnected, or still connecting) received = replayed says nothing about the
+// primary, so the lag is unknown. It is also unknown (NaN) until the first check succeeds and whenever the replica
+// cannot be reached; an unknown lag is never within max-lag. The receiver's status is only visible to roles with
+// pg_read_all_stats (or superusers), which the replica user needs.
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String LAG_QUERY = """
+            select case when not pg_is_in_recovery() then 0
+                        when not exists (select 1 from pg_stat_wal_receiver where status = 'streaming') then null
+                        when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                        else extract(epoch from now() - pg_last_xact_replay_timestamp()) end
+            """;
+
+    private final DataSource replica;
+    private final double maxLagSeconds;
+    private volatile double lagSeconds = Double.NaN;
+    private boolean reachable = true;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.maxLagSeconds = maxLag.toNanos() / 1e9;
+        Gauge.builder("datasource.replica.lag", this, ReplicaLagMonitor::getLagSeconds)
+                .baseUnit("seconds")
+                .description("Replay lag of the read replica; NaN while it cannot be reached or is not streaming")
+                .register(meterRegistry);
+    }
+
+    public boolean isWithinMaxLag() {
+        return lagSeconds <= maxLagSeconds;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    void check() {
+        boolean wasWithinMaxLag = isWithinMaxLag();
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            double lag = resultSet.getDouble(1);
+            lagSeconds = resultSet.wasNull() ? Double.NaN : lag;
+            reachable = true;
+        } catch (SQLException e) {
+            if (reachable) {
+                log.warn("Replica lag check failed, reading from the primary: {}", e.getMessage());
+            }
+            reachable = false;
+            lagSeconds = Double.NaN;
+            return;
+        }
+        if (wasWithinMaxLag && Double.isNaN(lagSeconds)) {
+            log.warn("Replica is not streaming from the primary, reading from the primary");
+        } else if (wasWithinMaxLag && !isWithinMaxLag()) {
+            log.warn("Replica lag {} s is above {} s, reading from the primary", lagSeconds, maxLagSeconds);
+        } else if (!wasWithinMaxLag && isWithinMaxLag()) {
+            log.info("Replica lag {} s is within {} s, reading from the replica", lagSeconds, maxLagSeconds);
+        }
+    }
+}
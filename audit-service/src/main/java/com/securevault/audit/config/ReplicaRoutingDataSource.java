@@ -0,0 +1,74 @@
+package com.securevault.audit.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+
+// Read-only transactions get a replica connection, everything else a primary one. The physical connection is
+// only fetched at the first statement, after the transaction has marked it read-only. Read-only transactions
+// still use the primary while the replica is behind by more than max-lag, and for a user who wrote within
+// read-your-writes-window: the users of stored events (AuditService), and the X-User-Id of write requests.
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    RecentWrites recentWrites, MeterRegistry meterRegistry) {
+        Counter replicaReads = readCounter(meterRegistry, "replica", "none");
+        Counter laggingReads = readCounter(meterRegistry, "primary", "lag");
+        Counter recentWriteReads = readCounter(meterRegistry, "primary", "recent-write");
+
+        setTargetDataSource(new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                UUID userId = currentUserId();
+                if (userId != null) {
+                    recentWrites.record(userId);
+                }
+                return super.getConnection();
+            }
+        });
+        setReadOnlyDataSource(new DelegatingDataSource(replica) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (!lagMonitor.isWithinMaxLag()) {
+                    laggingReads.increment();
+                    return primary.getConnection();
+                }
+                UUID userId = currentUserId();
+                if (userId != null && recentWrites.isRecent(userId)) {
+                    recentWriteReads.increment();
+                    return primary.getConnection();
+                }
+                replicaReads.increment();
+                return super.getConnection();
+            }
+        });
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("datasource.read-only.connections")
+                .description("Connections fetched for read-only transactions, by pool and reason for the primary")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static UUID currentUserId() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            String header = attributes.getRequest().getHeader("X-User-Id");
+            try {
+                return header != null ? UUID.fromString(header) : null;
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -1,14 +1,17 @@
 package com.securevault.audit.controller;
 
+import com.securevault.audit.dto.AuditEventBatchRequest;
 import com.securevault.audit.dto.AuditEventRequest;
 import com.securevault.audit.dto.AuditEventResponse;
 import com.securevault.audit.dto.AuditFilterRequest;
 import com.securevault.audit.dto.PageResponse;
 import com.securevault.audit.model.ResourceType;
 import com.securevault.audit.service.AuditService;
+import com.securevault.audit.util.ETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -23,8 +26,10 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -40,14 +45,31 @@ public class AuditEventController {
                 .body(auditService.recordEvent(request));
     }
 
+    // Many events in one request and one transaction, e.g. from bulk user provisioning
+    @PostMapping("/events/batch")
+    public ResponseEntity<Map<String, Integer>> recordEvents(
+            @Valid @RequestBody AuditEventBatchRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(Map.of("recorded", auditService.recordEvents(request.getEvents())));
+    }
+
     @GetMapping("/events")
     public ResponseEntity<PageResponse<AuditEventResponse>> getEvents(
             @RequestHeader("X-User-Role") String role,
-            @ModelAttribute AuditFilterRequest filter) {
+            @ModelAttribute AuditFilterRequest filter,
+            WebRequest webRequest) {
         if (!"ADMIN".equals(role) && !"MANAGER".equals(role)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
-        return ResponseEntity.ok(auditService.getEvents(filter));
+        String eTag = auditService.getEventsETag(filter);
+        if (webRequest.checkNotModified(eTag)) {
+            // Page is not loaded or serialized when no matching event was added
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(ETags.REVALIDATE)
+                .body(auditService.getEvents(filter));
     }
 
     @GetMapping("/events/user/{userId}")
@@ -56,12 +78,20 @@ public class AuditEventController {
             @RequestHeader("X-User-Role") String role,
             @PathVariable UUID userId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
         if (!"ADMIN".equals(role) && !currentUserId.equals(userId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
-        return ResponseEntity.ok(auditService.getEventsForUser(userId,
-                PageRequest.of(page, Math.min(size, 100), Sort.by(Sort.Direction.DESC, "createdAt"))));
+        Pageable pageable = PageRequest.of(page, Math.min(size, 100), Sort.by(Sort.Direction.DESC, "createdAt"));
+        String eTag = auditService.getEventsForUserETag(userId, pageable);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(ETags.REVALIDATE)
+                .body(auditService.getEventsForUser(userId, pageable));
     }
 
     @GetMapping("/events/resource/{type}/{resourceId}")
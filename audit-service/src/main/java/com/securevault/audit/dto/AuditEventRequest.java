@@ -4,6 +4,7 @@ import com.securevault.audit.model.AuditAction;
 import com.securevault.audit.model.EventStatus;
 import com.securevault.audit.model.ResourceType;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -39,4 +40,7 @@ public class AuditEventRequest {
     private EventStatus status;
 
     private String metadata;
+
+    @Pattern(regexp = "[0-9a-f]{32}", message = "Trace id must be 32 lowercase hex characters")
+    private String traceId;
 }
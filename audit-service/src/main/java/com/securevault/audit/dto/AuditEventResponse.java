@@ -28,5 +28,6 @@ public class AuditEventResponse {
     private String userAgent;
     private EventStatus status;
     private String metadata;
+    private String traceId;
     private LocalDateTime createdAt;
 }
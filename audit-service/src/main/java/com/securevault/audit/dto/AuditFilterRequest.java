@@ -25,6 +25,7 @@ public class AuditFilterRequest {
     private LocalDateTime fromDate;
     private LocalDateTime toDate;
     private String keyword;
+    private String traceId;
 
     @Builder.Default
     private int page = 0;
@@ -27,7 +27,8 @@ import java.util.UUID;
         @Index(name = "idx_audit_user_id", columnList = "userId"),
         @Index(name = "idx_audit_action", columnList = "action"),
         @Index(name = "idx_audit_created_at", columnList = "createdAt"),
-        @Index(name = "idx_audit_user_action", columnList = "userId, action")
+        @Index(name = "idx_audit_user_action", columnList = "userId, action"),
+        @Index(name = "idx_audit_trace_id", columnList = "traceId")
 })
 @Getter
 @Setter
@@ -68,6 +69,10 @@ public class AuditEvent {
     @Column(columnDefinition = "TEXT")
     private String metadata;
 
+    // W3C trace id of the request that caused the event
+    @Column(length = 32)
+    private String traceId;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -5,7 +5,10 @@ public enum AuditAction {
     USER_LOGIN,
     USER_LOGIN_FAILED,
     USER_LOGOUT,
+    USER_LOGOUT_ALL,
     TOKEN_REFRESHED,
+    REFRESH_TOKEN_REUSED,
+    ACCESS_TOKENS_REVOKED,
     TOTP_ENABLED,
     TOTP_DISABLED,
     TOTP_VERIFIED,
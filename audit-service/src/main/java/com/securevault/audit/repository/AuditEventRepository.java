@@ -20,6 +20,8 @@ public interface AuditEventRepository extends JpaRepository<AuditEvent, UUID>,
 
     Page<AuditEvent> findAllByUserId(UUID userId, Pageable pageable);
 
+    long countByUserId(UUID userId);
+
     Page<AuditEvent> findAllByAction(AuditAction action, Pageable pageable);
 
     List<AuditEvent> findAllByResourceTypeAndResourceId(ResourceType resourceType, UUID resourceId);
@@ -27,6 +27,10 @@ public class AuditEventSpecification {
         return (root, query, cb) -> cb.equal(root.get("status"), status);
     }
 
+    public static Specification<AuditEvent> hasTraceId(String traceId) {
+        return (root, query, cb) -> cb.equal(root.get("traceId"), traceId);
+    }
+
     public static Specification<AuditEvent> createdBetween(LocalDateTime from, LocalDateTime to) {
         return (root, query, cb) -> cb.between(root.get("createdAt"), from, to);
     }
@@ -1,5 +1,6 @@
 package com.securevault.audit.service;
 
+import com.securevault.audit.config.RecentWrites;
 import com.securevault.audit.dto.AuditEventRequest;
 import com.securevault.audit.dto.AuditEventResponse;
 import com.securevault.audit.dto.AuditFilterRequest;
@@ -8,6 +9,9 @@ import com.securevault.audit.entity.AuditEvent;
 import com.securevault.audit.model.ResourceType;
 import com.securevault.audit.repository.AuditEventRepository;
 import com.securevault.audit.repository.AuditEventSpecification;
+import com.securevault.audit.util.ETags;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -25,24 +29,20 @@ import java.util.UUID;
 @Transactional
 public class AuditService {
     private final AuditEventRepository auditEventRepository;
+    private final Tracer tracer;
+    private final RecentWrites recentWrites;
 
     public AuditEventResponse recordEvent(AuditEventRequest request) {
-        AuditEvent event = AuditEvent.builder()
-                .userId(request.getUserId())
-                .action(request.getAction())
-                .resourceType(request.getResourceType())
-                .resourceId(request.getResourceId())
-                .description(request.getDescription())
-                .ipAddress(request.getIpAddress())
-                .userAgent(request.getUserAgent())
-                .status(request.getStatus())
-                .metadata(request.getMetadata())
-                .build();
-
-        AuditEvent saved = auditEventRepository.save(event);
+        AuditEvent saved = auditEventRepository.save(toEntity(request));
+        recordWrite(request);
         return mapToResponse(saved);
     }
 
+    public int recordEvents(List<AuditEventRequest> requests) {
+        requests.forEach(this::recordWrite);
+        return auditEventRepository.saveAll(requests.stream().map(this::toEntity).toList()).size();
+    }
+
     @Transactional(readOnly = true)
     public PageResponse<AuditEventResponse> getEvents(AuditFilterRequest filter) {
         Specification<AuditEvent> spec = buildSpecification(filter);
@@ -56,6 +56,21 @@ public class AuditService {
         return mapToPageResponse(page);
     }
 
+    // Version of a getEvents page: one count query instead of loading and mapping the page
+    @Transactional(readOnly = true)
+    public String getEventsETag(AuditFilterRequest filter) {
+        long matching = auditEventRepository.count(buildSpecification(filter));
+        return ETags.of(filter.getUserId(), filter.getAction(), filter.getResourceType(), filter.getStatus(),
+                filter.getFromDate(), filter.getToDate(), filter.getKeyword(), filter.getTraceId(),
+                filter.getPage(), Math.min(filter.getSize(), 100), matching);
+    }
+
+    @Transactional(readOnly = true)
+    public String getEventsForUserETag(UUID userId, Pageable pageable) {
+        return ETags.of(userId, pageable.getPageNumber(), pageable.getPageSize(),
+                auditEventRepository.countByUserId(userId));
+    }
+
     @Transactional(readOnly = true)
     public PageResponse<AuditEventResponse> getEventsForUser(UUID userId, Pageable pageable) {
         Page<AuditEvent> page = auditEventRepository.findAllByUserId(userId, pageable);
@@ -119,6 +134,9 @@ public class AuditService {
         if (filter.getStatus() != null) {
             spec = spec.and(AuditEventSpecification.hasStatus(filter.getStatus()));
         }
+        if (filter.getTraceId() != null && !filter.getTraceId().isBlank()) {
+            spec = spec.and(AuditEventSpecification.hasTraceId(filter.getTraceId()));
+        }
         if (filter.getFromDate() != null && filter.getToDate() != null) {
             spec = spec.and(AuditEventSpecification.createdBetween(filter.getFromDate(), filter.getToDate()));
         }
@@ -146,6 +164,34 @@ public class AuditService {
                 .build();
     }
 
+    private AuditEvent toEntity(AuditEventRequest request) {
+        return AuditEvent.builder()
+                .userId(request.getUserId())
+                .action(request.getAction())
+                .resourceType(request.getResourceType())
+                .resourceId(request.getResourceId())
+                .description(request.getDescription())
+                .ipAddress(request.getIpAddress())
+                .userAgent(request.getUserAgent())
+                .status(request.getStatus())
+                .metadata(request.getMetadata())
+                .traceId(request.getTraceId() != null ? request.getTraceId() : currentTraceId())
+                .build();
+    }
+
+    // The user's next reads of their events go to the primary, which already has them (see "Read Replicas")
+    private void recordWrite(AuditEventRequest request) {
+        if (request.getUserId() != null) {
+            recentWrites.record(request.getUserId());
+        }
+    }
+
+    // Events posted without a trace id belong to the trace of the incoming request
+    private String currentTraceId() {
+        Span span = tracer.currentSpan();
+        return span != null ? span.context().traceId() : null;
+    }
+
     private AuditEventResponse mapToResponse(AuditEvent event) {
         return AuditEventResponse.builder()
                 .id(event.getId())
@@ -158,6 +204,7 @@ public class AuditService {
                 .userAgent(event.getUserAgent())
                 .status(event.getStatus())
                 .metadata(event.getMetadata())
+                .traceId(event.getTraceId())
                 .createdAt(event.getCreatedAt())
                 .build();
     }
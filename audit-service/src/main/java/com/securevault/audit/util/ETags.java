@@ -0,0 +1,47 @@
+package com.securevault.audit.util;
+
+import org.springframework.http.CacheControl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// ETags for polled audit pages, hashed from the query parameters and the matching row count.
+// Events are append-only, so the count changes whenever the result set does. Marked weak so Tomcat
+// still gzips the body (it never compresses responses carrying a strong ETag).
+public final class ETags {
+
+    // Clients must revalidate every time, but may reuse their cached body on 304
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {}
+
+    public static String of(Object... parts) {
+        MessageDigest digest = sha256();
+        for (Object part : parts) {
+            if (part instanceof Iterable<?> rows) {
+                for (Object row : rows) {
+                    update(digest, row);
+                }
+                digest.update((byte) 0);
+            } else {
+                update(digest, part);
+            }
+        }
+        return "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
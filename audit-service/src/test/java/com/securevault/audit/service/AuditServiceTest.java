@@ -1,5 +1,6 @@
 package com.securevault.audit.service;
 
+import com.securevault.audit.config.RecentWrites;
 import com.securevault.audit.dto.AuditEventRequest;
 import com.securevault.audit.dto.AuditEventResponse;
 import com.securevault.audit.dto.AuditFilterRequest;
@@ -9,6 +10,9 @@ import com.securevault.audit.model.AuditAction;
 import com.securevault.audit.model.EventStatus;
 import com.securevault.audit.model.ResourceType;
 import com.securevault.audit.repository.AuditEventRepository;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,6 +30,8 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,9 +41,17 @@ class AuditServiceTest {
     @Mock
     private AuditEventRepository auditEventRepository;
 
+    @Mock
+    private Tracer tracer;
+
+    @Mock
+    private RecentWrites recentWrites;
+
     @InjectMocks
     private AuditService auditService;
 
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
     private AuditEvent testEvent;
     private AuditEventRequest testRequest;
     private UUID userId;
@@ -97,6 +111,44 @@ class AuditServiceTest {
         assertThat(response.getStatus()).isEqualTo(EventStatus.SUCCESS);
         assertThat(response.getMetadata()).isEqualTo("{\"browser\":\"Chrome\"}");
         verify(auditEventRepository).save(any(AuditEvent.class));
+        verify(recentWrites).record(userId);
+    }
+
+    @Test
+    void recordEvent_WithoutTraceId_UsesCurrentTrace() {
+        Span span = mock(Span.class);
+        TraceContext context = mock(TraceContext.class);
+        when(tracer.currentSpan()).thenReturn(span);
+        when(span.context()).thenReturn(context);
+        when(context.traceId()).thenReturn(TRACE_ID);
+        when(auditEventRepository.save(any(AuditEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AuditEventResponse response = auditService.recordEvent(testRequest);
+
+        assertThat(response.getTraceId()).isEqualTo(TRACE_ID);
+    }
+
+    @Test
+    void recordEvent_KeepsTraceIdOfCaller() {
+        testRequest.setTraceId(TRACE_ID);
+        when(auditEventRepository.save(any(AuditEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AuditEventResponse response = auditService.recordEvent(testRequest);
+
+        assertThat(response.getTraceId()).isEqualTo(TRACE_ID);
+        verify(tracer, never()).currentSpan();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordEvents_SavesAllInOneCall() {
+        when(auditEventRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        int recorded = auditService.recordEvents(List.of(testRequest, testRequest));
+
+        assertThat(recorded).isEqualTo(2);
+        verify(auditEventRepository).saveAll(any(List.class));
+        verify(auditEventRepository, never()).save(any(AuditEvent.class));
     }
 
     @Test
@@ -121,6 +173,7 @@ class AuditServiceTest {
         assertThat(response.getAction()).isEqualTo(AuditAction.USER_LOGIN_FAILED);
         assertThat(response.getStatus()).isEqualTo(EventStatus.FAILURE);
         verify(auditEventRepository).save(any(AuditEvent.class));
+        verify(recentWrites, never()).record(any());
     }
 
     @Test
@@ -256,6 +309,32 @@ class AuditServiceTest {
         verify(auditEventRepository).findAllByUserId(any(UUID.class), any(Pageable.class));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void getEventsETag_NewMatchingEvent_ChangesTag() {
+        AuditFilterRequest filter = AuditFilterRequest.builder().action(AuditAction.USER_LOGIN).build();
+        when(auditEventRepository.count(any(Specification.class))).thenReturn(5L, 5L, 6L);
+
+        String first = auditService.getEventsETag(filter);
+        String unchanged = auditService.getEventsETag(filter);
+        String changed = auditService.getEventsETag(filter);
+
+        assertThat(unchanged).isEqualTo(first);
+        assertThat(changed).isNotEqualTo(first);
+        verify(auditEventRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getEventsETag_DifferentPage_DifferentTag() {
+        when(auditEventRepository.count(any(Specification.class))).thenReturn(50L);
+
+        String firstPage = auditService.getEventsETag(AuditFilterRequest.builder().page(0).build());
+        String secondPage = auditService.getEventsETag(AuditFilterRequest.builder().page(1).build());
+
+        assertThat(firstPage).isNotEqualTo(secondPage);
+    }
+
     @Test
     void getEventsForResource_ReturnsResourceEvents() {
         when(auditEventRepository.findAllByResourceTypeAndResourceId(ResourceType.USER, resourceId))
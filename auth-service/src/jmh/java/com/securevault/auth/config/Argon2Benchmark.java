@@ -0,0 +1,40 @@
+package com.securevault.auth.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+// Cost of one login (matches) and one registration (encode) per Argon2id parameter set.
+// Run with ./gradlew jmh; gc.alloc.rate.norm shows the memory parameter as bytes/op.
+// For a single recommendation against a latency budget use ./gradlew calibrateArgon2 instead.
+@State(Scope.Benchmark)
+public class Argon2Benchmark {
+
+    @Param({"16384", "19456", "47104", "65536"})
+    private int memoryKib;
+
+    @Param({"1", "2", "3"})
+    private int iterations;
+
+    private Argon2PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new Argon2PasswordEncoder(16, 32, 1, memoryKib, iterations);
+        hash = encoder.encode("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("correct horse battery staple", hash);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("correct horse battery staple");
+    }
+}
@@ -0,0 +1,96 @@
+package com.securevault.auth.config;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Measures Argon2id on this machine and prints the strongest parameters whose single-hash time fits the budget.
+// Usage: ./gradlew calibrateArgon2 -PbudgetMs=250
+// Parallelism stays at 1: the hashing pool already spreads concurrent logins across all cores, so lanes
+// would only trade throughput for single-request latency.
+public final class Argon2Calibrator {
+
+    private static final int[] MEMORY_KIB = {16384, 19456, 32768, 47104, 65536, 98304, 131072, 262144};
+    private static final int MAX_ITERATIONS = 6;
+    private static final int SAMPLES = 5;
+    // OWASP Password Storage Cheat Sheet minimums for Argon2id (iterations -> memory in KiB)
+    private static final Map<Integer, Integer> OWASP_MIN_MEMORY_KIB = Map.of(
+            1, 47104, 2, 19456, 3, 12288, 4, 9216, 5, 7168);
+
+    private Argon2Calibrator() {
+    }
+
+    record Candidate(int memoryKib, int iterations, double millis) {
+
+        long cost() {
+            return (long) memoryKib * iterations;
+        }
+
+        boolean meetsOwaspMinimum() {
+            return memoryKib >= OWASP_MIN_MEMORY_KIB.getOrDefault(iterations, 0);
+        }
+    }
+
+    public static void main(String[] args) {
+        double budgetMs = args.length > 0 ? Double.parseDouble(args[0]) : 250;
+        int threads = Runtime.getRuntime().availableProcessors();
+        System.out.printf("Argon2id calibration, budget %.0f ms per hash, %d cores%n%n", budgetMs, threads);
+
+        // Let the JIT compile the BouncyCastle code paths before anything is measured
+        measure(new Argon2PasswordEncoder(16, 32, 1, 16384, 2), 10);
+
+        List<Candidate> fitting = new ArrayList<>();
+        System.out.printf("%12s %10s %10s %14s%n", "memory-kib", "iterations", "median-ms", "logins/s/node");
+        for (int memoryKib : MEMORY_KIB) {
+            for (int iterations = 1; iterations <= MAX_ITERATIONS; iterations++) {
+                double millis = measure(new Argon2PasswordEncoder(16, 32, 1, memoryKib, iterations), SAMPLES);
+                System.out.printf("%12d %10d %10.1f %14.0f%n", memoryKib, iterations, millis, threads * 1000 / millis);
+                if (millis > budgetMs) {
+                    // More iterations only get slower
+                    break;
+                }
+                fitting.add(new Candidate(memoryKib, iterations, millis));
+            }
+            if (fitting.stream().noneMatch(c -> c.memoryKib() == memoryKib)) {
+                // Even one pass over this much memory is over budget, larger sizes will be too
+                break;
+            }
+        }
+
+        Candidate best = fitting.stream()
+                .filter(Candidate::meetsOwaspMinimum)
+                .max(Comparator.comparingLong(Candidate::cost).thenComparingInt(Candidate::memoryKib))
+                .orElse(null);
+
+        System.out.println();
+        if (best == null) {
+            System.out.printf("No parameter set meeting the OWASP minimum fits in %.0f ms on this machine.%n", budgetMs);
+            System.out.println("Raise the budget or use faster hardware; weaker settings are not recommended.");
+            return;
+        }
+        System.out.printf("Recommended (%.1f ms per hash, about %.0f logins/s with %d hashing threads):%n",
+                best.millis(), threads * 1000 / best.millis(), threads);
+        System.out.println("password-hashing.argon2.memory-kib=" + best.memoryKib());
+        System.out.println("password-hashing.argon2.iterations=" + best.iterations());
+        System.out.println("password-hashing.argon2.parallelism=1");
+        System.out.println();
+        System.out.println("Existing hashes are upgraded to these parameters on each user's next successful login.");
+    }
+
+    // Median of several matches() calls, which is what a login pays
+    private static double measure(Argon2PasswordEncoder encoder, int samples) {
+        String hash = encoder.encode("calibration-password");
+        double[] millis = new double[samples];
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            encoder.matches("calibration-password", hash);
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+        return millis[samples / 2];
+    }
+}
@@ -0,0 +1,96 @@
+package com.securevault.auth.service;
+
+import com.securevault.auth.config.JwtProperties;
+import com.securevault.auth.entity.User;
+import com.securevault.auth.model.Role;
+import com.securevault.auth.model.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.util.UUID;
+
+// Token generation and verification cost in JwtService per signing algorithm. Run with ./gradlew jmh.
+// perClaimParse reproduces the old request path (a fresh parser and an RSA verify for each of three claims),
+// so its difference to verify is what VerifiedToken saves per authenticated request.
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    private String algorithm;
+
+    private JwtService jwtService;
+    private PublicKey publicKey;
+    private User user;
+    private String accessToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPair keyPair = generateKeyPair();
+        publicKey = keyPair.getPublic();
+
+        JwtProperties properties = new JwtProperties();
+        properties.setAlgorithm(algorithm);
+        properties.setPrivateKey(keyPair.getPrivate());
+        properties.setPublicKey(publicKey);
+        properties.setAccessTokenExpiration(900_000L);
+        properties.setRefreshTokenExpiration(604_800_000L);
+        jwtService = new JwtService(properties);
+
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("bench@securevault.com")
+                .role(Role.USER)
+                .build();
+        accessToken = jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtService.verify(accessToken);
+    }
+
+    @Benchmark
+    public void perClaimParse(Blackhole blackhole) {
+        blackhole.consume(parse(accessToken).getId());
+        blackhole.consume(parse(accessToken).get("email", String.class));
+        blackhole.consume(parse(accessToken).get("role", String.class));
+    }
+
+    private KeyPair generateKeyPair() throws Exception {
+        return switch (algorithm) {
+            case "ES256" -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(256);
+                yield generator.generateKeyPair();
+            }
+            case "EdDSA" -> KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+            default -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+                yield generator.generateKeyPair();
+            }
+        };
+    }
+
+    private Claims parse(String token) {
+        return Jwts.parser()
+                .verifyWith(publicKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
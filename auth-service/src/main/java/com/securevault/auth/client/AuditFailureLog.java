@@ -0,0 +1,40 @@
+package com.securevault.auth.client;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Warns about undelivered audit events at most once per interval. Failures in between are only counted and
+// summed into the next warning, so an audit-service outage costs one log line per interval instead of one per
+// event. Every failure is still counted in audit.client.failures.
+final class AuditFailureLog {
+
+    private final Logger log;
+    private final long intervalNanos;
+    private final AtomicLong nextWarning;
+    private final AtomicInteger suppressed = new AtomicInteger();
+
+    AuditFailureLog(Logger log, Duration interval) {
+        this.log = log;
+        this.intervalNanos = interval.toNanos();
+        this.nextWarning = new AtomicLong(System.nanoTime());
+    }
+
+    void failed(int events, String reason) {
+        long now = System.nanoTime();
+        long next = nextWarning.get();
+        if (now - next < 0 || !nextWarning.compareAndSet(next, now + intervalNanos)) {
+            suppressed.addAndGet(events);
+            return;
+        }
+        int earlier = suppressed.getAndSet(0);
+        if (earlier == 0) {
+            log.warn("Failed to send {} audit event(s): {}", events, reason);
+        } else {
+            log.warn("Failed to send {} audit event(s): {} ({} more failed since the previous warning)",
+                    events, reason, earlier);
+        }
+    }
+}
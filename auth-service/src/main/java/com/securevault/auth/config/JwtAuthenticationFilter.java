@@ -1,8 +1,12 @@
 package com.securevault.auth.config;
 
+import com.securevault.auth.model.AuthenticatedUser;
+import com.securevault.auth.model.VerifiedToken;
 import com.securevault.auth.service.JwtService;
+import com.securevault.auth.service.SessionGenerationService;
 import com.securevault.auth.service.TokenBlacklistService;
 import com.securevault.auth.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,7 +15,7 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -24,6 +28,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
     private final TokenBlacklistService tokenBlacklistService;
+    private final SessionGenerationService sessionGenerationService;
+    private final PrincipalProperties principalProperties;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
@@ -33,28 +39,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        String token = authHeader.substring(7);
-        if (!jwtService.validateToken(token)) {
+        // Verified once; every claim below comes from this result
+        VerifiedToken token;
+        try {
+            token = jwtService.verify(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String tokenId = jwtService.extractTokenId(token);
-        if (tokenBlacklistService.isBlacklisted(tokenId)) {
+        if (tokenBlacklistService.isBlacklisted(token.tokenId(), token.expiresAt())
+                || (token.isAccessToken() && sessionGenerationService.isRevoked(token.userId(), token.sessionGeneration()))) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String email = jwtService.extractEmail(token);
-
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        // Refresh tokens never authenticate a request
+        if (token.isAccessToken() && SecurityContextHolder.getContext().getAuthentication() == null) {
+            AuthenticatedUser principal;
+            try {
+                principal = resolvePrincipal(token);
+            } catch (UsernameNotFoundException e) {
+                filterChain.doFilter(request, response);
+                return;
+            }
 
             UsernamePasswordAuthenticationToken authToken =
                     new UsernamePasswordAuthenticationToken(
-                            userDetails,
+                            principal,
                             null,
-                            userDetails.getAuthorities()
+                            principal.getAuthorities()
                     );
 
             authToken.setDetails(
@@ -65,4 +79,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // The signed claims are enough by default; loading the user only catches deletions and role changes
+    // made within the access token lifetime
+    private AuthenticatedUser resolvePrincipal(VerifiedToken token) {
+        if (principalProperties.isLoadUser()) {
+            return userDetailsService.loadUserById(token.userId());
+        }
+        return AuthenticatedUser.fromToken(token);
+    }
 }
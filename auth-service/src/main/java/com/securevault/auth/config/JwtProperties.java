@@ -3,14 +3,28 @@ package com.securevault.auth.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
 
 @ConfigurationProperties(prefix = "jwt")
 @Data
 public class JwtProperties {
-    private RSAPrivateKey privateKey;
-    private RSAPublicKey publicKey;
+    // RS256, ES256 or EdDSA (Ed25519); has to match the type of the key pair below
+    private String algorithm = "RS256";
+    private PrivateKey privateKey;
+    private PublicKey publicKey;
+    // Sent as the kid header and published in the JWKS; defaults to the RFC 7638 thumbprint of the public key
+    private String keyId;
+    // Retired signing keys: their tokens stay valid and they stay in the JWKS until removed from this list
+    private List<PreviousKey> previousKeys = new ArrayList<>();
     private long accessTokenExpiration;
     private long refreshTokenExpiration;
+
+    @Data
+    public static class PreviousKey {
+        private String keyId;
+        private PublicKey publicKey;
+    }
 }
@@ -0,0 +1,30 @@
+package com.securevault.auth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "password-hashing")
+@Data
+public class PasswordHashingProperties {
+    // Concurrent Argon2 computations; 0 means one per available core
+    private int threads = 0;
+    // Hash requests allowed to wait for a thread before new ones are rejected with 503
+    private int queueCapacity = 32;
+    // Upper bound on queueing plus hashing before the request gives up with 503
+    private Duration maxWait = Duration.ofSeconds(5);
+    private Argon2 argon2 = new Argon2();
+
+    // Argon2id cost for new hashes. Defaults match Spring Security's v5.8 defaults; pick values for the
+    // target hardware with ./gradlew calibrateArgon2. Stored hashes with weaker parameters are re-hashed
+    // on the next successful login.
+    @Data
+    public static class Argon2 {
+        private int saltLength = 16;
+        private int hashLength = 32;
+        private int parallelism = 1;
+        private int memoryKib = 16384;
+        private int iterations = 2;
+    }
+}
@@ -0,0 +1,67 @@
+package com.securevault.auth.config;
+
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+// Reads PKCS#8 private and X.509 public keys from PEM, given inline or as a classpath:/file: location.
+// The key type (RSA, EC or Ed25519) is taken from the key itself.
+final class PemKeys {
+
+    private static final String[] KEY_TYPES = {"RSA", "EC", "Ed25519"};
+
+    private PemKeys() {
+    }
+
+    static PrivateKey privateKey(String source) {
+        byte[] der = decode(source);
+        for (String type : KEY_TYPES) {
+            try {
+                return KeyFactory.getInstance(type).generatePrivate(new PKCS8EncodedKeySpec(der));
+            } catch (InvalidKeySpecException e) {
+                // Not this key type, try the next one
+            } catch (GeneralSecurityException e) {
+                throw new IllegalArgumentException("Failed to convert PEM to PrivateKey", e);
+            }
+        }
+        throw new IllegalArgumentException("Unsupported private key type, expected RSA, EC or Ed25519");
+    }
+
+    static PublicKey publicKey(String source) {
+        byte[] der = decode(source);
+        for (String type : KEY_TYPES) {
+            try {
+                return KeyFactory.getInstance(type).generatePublic(new X509EncodedKeySpec(der));
+            } catch (InvalidKeySpecException e) {
+                // Not this key type, try the next one
+            } catch (GeneralSecurityException e) {
+                throw new IllegalArgumentException("Failed to convert PEM to PublicKey", e);
+            }
+        }
+        throw new IllegalArgumentException("Unsupported public key type, expected RSA, EC or Ed25519");
+    }
+
+    private static byte[] decode(String source) {
+        String pem = source;
+        if (source.startsWith("classpath:") || source.startsWith("file:")) {
+            Resource resource = new DefaultResourceLoader().getResource(source);
+            try {
+                pem = new String(resource.getInputStream().readAllBytes());
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Failed to read key from " + source, e);
+            }
+        }
+        pem = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(pem);
+    }
+}
@@ -0,0 +1,17 @@
+package com.securevault.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationPropertiesBinding;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.security.PrivateKey;
+
+@Component
+@ConfigurationPropertiesBinding
+public class PemPrivateKeyConverter implements Converter<String, PrivateKey> {
+
+    @Override
+    public PrivateKey convert(String source) {
+        return PemKeys.privateKey(source);
+    }
+}
@@ -0,0 +1,17 @@
+package com.securevault.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationPropertiesBinding;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.security.PublicKey;
+
+@Component
+@ConfigurationPropertiesBinding
+public class PemPublicKeyConverter implements Converter<String, PublicKey> {
+
+    @Override
+    public PublicKey convert(String source) {
+        return PemKeys.publicKey(source);
+    }
+}
@@ -0,0 +1,17 @@
+package com.securevault.auth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "auth.principal")
+@Data
+public class PrincipalProperties {
+    // Re-read the user from the database for bearer requests instead of trusting the verified token claims
+    private boolean loadUser = false;
+    // How long a user loaded for bearer requests is reused; 0 disables the cache
+    private Duration userCacheTtl = Duration.ofSeconds(30);
+    // Entries kept before the cache is cleared
+    private int userCacheSize = 10_000;
+}
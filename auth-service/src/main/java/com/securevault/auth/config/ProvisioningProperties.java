@@ -0,0 +1,16 @@
+package com.securevault.auth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "provisioning")
+@Data
+public class ProvisioningProperties {
+    // Passwords of one bulk request hashed concurrently; 0 means half of the hashing pool, so interactive
+    // logins keep the other half and the pool queue
+    private int hashingParallelism = 0;
+    // Rows per INSERT statement
+    private int insertBatchSize = 500;
+    // Audit events per request to audit-service
+    private int auditBatchSize = 500;
+}
@@ -0,0 +1,11 @@
+package com.securevault.auth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "refresh-tokens")
+@Data
+public class RefreshTokenProperties {
+    // Rows deleted per statement; each batch commits on its own so locks stay short
+    private int purgeBatchSize = 1000;
+}
@@ -0,0 +1,16 @@
+package com.securevault.auth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "token-blacklist")
+@Data
+public class TokenBlacklistProperties {
+    // How long a "not revoked" answer from Redis is reused; bounds how late a revocation is seen when a
+    // pub/sub message is lost. 0 asks Redis for every token that is not known to be revoked
+    private Duration negativeCacheTtl = Duration.ofSeconds(2);
+    // "Not revoked" entries kept before that cache is cleared
+    private int negativeCacheSize = 100_000;
+}
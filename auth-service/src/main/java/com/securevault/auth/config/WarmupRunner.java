@@ -0,0 +1,115 @@
+package com.securevault.auth.config;
+
+import com.securevault.auth.entity.User;
+import com.securevault.auth.repository.UserRepository;
+import com.securevault.auth.service.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Runs before readiness turns UP and repeats the login hot paths for warmup.duration, so the JIT has compiled them
+// when the first real request arrives: JWT signing and verification, Argon2 hashing (BouncyCastle) and the user
+// lookup by email in-process, and a loopback JWKS request through Tomcat and the security filter chain.
+// Nothing is written. A failing step is logged once and left out of the remaining rounds.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final String EMAIL = "warm-up@securevault.local";
+
+    private final JwtService jwtService;
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final WarmupProperties properties;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + properties.getDuration().toNanos();
+
+        // Never persisted; only carries the claims of the throwaway tokens
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .email(EMAIL)
+                .build();
+
+        Map<String, Runnable> steps = new LinkedHashMap<>();
+        steps.put("JWT", () -> jwtService.verify(jwtService.generateAccessToken(user)));
+        steps.put("Argon2", () -> passwordEncoder.encode("warm-up"));
+        steps.put("user lookup", () -> userRepository.findByEmail(EMAIL));
+        // Not a web application (e.g. in tests): the in-process steps still run
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port != null) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(2))
+                    .build();
+            URI uri = URI.create("http://localhost:" + port + "/.well-known/jwks.json");
+            steps.put("GET /.well-known/jwks.json", () -> get(client, uri));
+        }
+
+        int rounds = 0;
+        do {
+            steps.entrySet().removeIf(step -> !attempt(step.getKey(), step.getValue()));
+            rounds++;
+        } while (System.nanoTime() < deadline && !steps.isEmpty());
+
+        long elapsed = System.nanoTime() - start;
+        TimeGauge.builder("application.warmup.time", () -> elapsed, TimeUnit.NANOSECONDS)
+                .description("Time spent warming up the hot paths before readiness")
+                .register(meterRegistry);
+        log.info("Warm-up finished in {} ms after {} rounds", TimeUnit.NANOSECONDS.toMillis(elapsed), rounds);
+    }
+
+    private static void get(HttpClient client, URI uri) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status != 200) {
+                throw new IllegalStateException("status " + status);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted", e);
+        }
+    }
+
+    private static boolean attempt(String name, Runnable step) {
+        try {
+            step.run();
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Warm-up step {} failed, skipping it: {}", name, e.getMessage());
+            return false;
+        }
+    }
+}
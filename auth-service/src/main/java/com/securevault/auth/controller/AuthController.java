@@ -1,14 +1,20 @@
 package com.securevault.auth.controller;
 
 import com.securevault.auth.dto.AuthResponse;
+import com.securevault.auth.dto.BulkRegisterRequest;
+import com.securevault.auth.dto.BulkRegisterResponse;
 import com.securevault.auth.dto.LoginRequest;
 import com.securevault.auth.dto.RefreshRequest;
 import com.securevault.auth.dto.RegisterRequest;
+import com.securevault.auth.dto.RevokeTokensRequest;
+import com.securevault.auth.model.AuthenticatedUser;
 import com.securevault.auth.service.AuthService;
+import com.securevault.auth.service.UserProvisioningService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -22,6 +28,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AuthController {
     private final AuthService authService;
+    private final UserProvisioningService userProvisioningService;
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest registerRequest) {
@@ -46,4 +53,23 @@ public class AuthController {
         authService.logout(request.getRefreshToken(), accessToken);
         return ResponseEntity.ok(Map.of("message", "Logout successful"));
     }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Map<String, String>> logoutAll(@AuthenticationPrincipal AuthenticatedUser principal) {
+        authService.logoutAll(principal.getId());
+        return ResponseEntity.ok(Map.of("message", "All sessions revoked"));
+    }
+
+    @PostMapping("/admin/users/bulk")
+    public ResponseEntity<BulkRegisterResponse> bulkRegister(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                             @Valid @RequestBody BulkRegisterRequest request) {
+        return ResponseEntity.ok(userProvisioningService.registerAll(request.getUsers(), principal.getId()));
+    }
+
+    @PostMapping("/admin/revoke-tokens")
+    public ResponseEntity<Map<String, Object>> revokeTokens(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                            @Valid @RequestBody RevokeTokensRequest request) {
+        int revoked = authService.revokeAccessTokens(request.getTokenIds(), principal.getId());
+        return ResponseEntity.ok(Map.of("message", "Tokens revoked", "revoked", revoked));
+    }
 }
@@ -0,0 +1,25 @@
+package com.securevault.auth.controller;
+
+import com.securevault.auth.service.JwtService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+// Public verification keys for the gateway and other token consumers (RFC 7517 JWK Set)
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+    private final JwtService jwtService;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(jwtService.getJwkSetJson());
+    }
+}
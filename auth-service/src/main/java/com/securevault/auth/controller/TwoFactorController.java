@@ -65,7 +65,7 @@ public class TwoFactorController {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow();
 
-        if (!totpService.verifyCode(user.getTotpSecret(), request.getCode())) {
+        if (!totpService.verifyCode(user.getId(), user.getTotpSecret(), request.getCode())) {
             throw new TotpVerificationException("Invalid TOTP code");
         }
 
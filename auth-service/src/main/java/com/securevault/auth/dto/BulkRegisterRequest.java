@@ -0,0 +1,15 @@
+package com.securevault.auth.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkRegisterRequest {
+    @NotEmpty(message = "At least one user is required")
+    @Size(max = 5_000, message = "At most 5000 users per request")
+    private List<@Valid RegisterRequest> users;
+}
@@ -0,0 +1,15 @@
+package com.securevault.auth.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkRegisterResponse {
+    private int requested;
+    private int created;
+    // Already registered, or repeated within the request
+    private List<String> skippedEmails;
+}
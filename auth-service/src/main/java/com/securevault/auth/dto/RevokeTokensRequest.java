@@ -0,0 +1,15 @@
+package com.securevault.auth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class RevokeTokensRequest {
+    @NotEmpty(message = "At least one token id is required")
+    @Size(max = 10_000, message = "At most 10000 token ids per request")
+    private List<@NotBlank String> tokenIds;
+}
@@ -13,6 +13,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -58,6 +59,12 @@ public class User {
     @Builder.Default
     private Boolean emailVerified = false;
 
+    // Bumped by "log out everywhere"; access tokens carry the value they were issued with
+    @Column(name = "session_generation", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long sessionGeneration = 0L;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
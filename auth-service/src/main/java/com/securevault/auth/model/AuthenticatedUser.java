@@ -0,0 +1,60 @@
+package com.securevault.auth.model;
+
+import com.securevault.auth.entity.User;
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// Security principal of the auth service. After a password login it carries the loaded User entity, so the
+// caller does not need to read it again; for bearer requests it is built from the verified token claims alone.
+@Getter
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+    private final UUID id;
+    private final String email;
+    private final Role role;
+    // Null unless built from a freshly loaded entity
+    private final transient User user;
+    private String password;
+
+    private AuthenticatedUser(UUID id, String email, Role role, String password, User user) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.password = password;
+        this.user = user;
+    }
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole(), user.getPasswordHash(), user);
+    }
+
+    public static AuthenticatedUser of(UUID id, String email, Role role) {
+        return new AuthenticatedUser(id, email, role, null, null);
+    }
+
+    public static AuthenticatedUser fromToken(VerifiedToken token) {
+        return of(token.userId(), token.email(), Role.valueOf(token.role()));
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    // Only clears the principal's copy; the entity keeps its hash
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+}
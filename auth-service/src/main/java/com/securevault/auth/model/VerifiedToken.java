@@ -0,0 +1,18 @@
+package com.securevault.auth.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Claims of a token whose signature and expiry JwtService has already checked; read them from here instead of
+// parsing the token again. Refresh tokens carry neither email nor role.
+public record VerifiedToken(String tokenId, UUID userId, String email, String role, long sessionGeneration,
+                            Instant expiresAt) {
+
+    public boolean isAccessToken() {
+        return email != null && role != null;
+    }
+
+    public long secondsUntilExpiry() {
+        return Math.max(0, expiresAt.getEpochSecond() - Instant.now().getEpochSecond());
+    }
+}
@@ -3,15 +3,42 @@ package com.securevault.auth.repository;
 import com.securevault.auth.entity.RefreshToken;
 import com.securevault.auth.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
 
     List<RefreshToken> findAllByUserAndRevokedFalse(User user);
 
     void deleteAllByUser(User user);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.familyId = :familyId AND r.revoked = false")
+    int revokeFamily(@Param("familyId") UUID familyId);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.user.id = :userId AND r.revoked = false")
+    int revokeAllForUser(@Param("userId") UUID userId);
+
+    // One purge batch. Revoked tokens are only deleted once expired too: until then a replay of one must still
+    // find the row, so that refresh() revokes the family. SKIP LOCKED lets several instances purge at once
+    // without waiting on each other's rows.
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM refresh_tokens WHERE id IN (
+                SELECT id FROM refresh_tokens
+                WHERE expires_at < :now
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED)
+            """, nativeQuery = true)
+    int purgeBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
 }
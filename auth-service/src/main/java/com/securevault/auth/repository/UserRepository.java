@@ -2,14 +2,24 @@ package com.securevault.auth.repository;
 
 import com.securevault.auth.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserRepositoryCustom {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    @Modifying
+    @Query("UPDATE User u SET u.sessionGeneration = u.sessionGeneration + 1 WHERE u.id = :id")
+    int incrementSessionGeneration(@Param("id") UUID id);
+
+    @Query("SELECT u.sessionGeneration FROM User u WHERE u.id = :id")
+    Optional<Long> findSessionGenerationById(@Param("id") UUID id);
 }
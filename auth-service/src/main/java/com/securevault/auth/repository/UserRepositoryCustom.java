@@ -0,0 +1,12 @@
+package com.securevault.auth.repository;
+
+import com.securevault.auth.entity.User;
+
+import java.util.List;
+import java.util.Set;
+
+public interface UserRepositoryCustom {
+    // Inserts the users in multi-row statements and skips those whose email already exists; returns the
+    // emails that were inserted
+    Set<String> insertIgnoringExisting(List<User> users, int batchSize);
+}
@@ -0,0 +1,53 @@
+package com.securevault.auth.repository;
+
+import com.securevault.auth.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+// Bulk provisioning bypasses Hibernate: one INSERT per batch, and the unique email index decides which rows
+// are new instead of a lookup per user
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    private static final String INSERT = "INSERT INTO users (id, email, password_hash, first_name, last_name, role, "
+            + "totp_enabled, email_verified, session_generation, created_at, updated_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ON_CONFLICT = " ON CONFLICT (email) DO NOTHING RETURNING email";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<String> insertIgnoringExisting(List<User> users, int batchSize) {
+        Set<String> inserted = new HashSet<>();
+        for (int from = 0; from < users.size(); from += batchSize) {
+            List<User> batch = users.subList(from, Math.min(from + batchSize, users.size()));
+            StringJoiner rows = new StringJoiner(", ", INSERT, ON_CONFLICT);
+            List<Object> args = new ArrayList<>(batch.size() * 11);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (User user : batch) {
+                rows.add(ROW);
+                args.add(user.getId() != null ? user.getId() : UUID.randomUUID());
+                args.add(user.getEmail());
+                args.add(user.getPasswordHash());
+                args.add(user.getFirstName());
+                args.add(user.getLastName());
+                args.add(user.getRole().name());
+                args.add(Boolean.TRUE.equals(user.getTotpEnabled()));
+                args.add(Boolean.TRUE.equals(user.getEmailVerified()));
+                args.add(user.getSessionGeneration() != null ? user.getSessionGeneration() : 0L);
+                args.add(now);
+                args.add(now);
+            }
+            inserted.addAll(jdbcTemplate.queryForList(rows.toString(), String.class, args.toArray()));
+        }
+        return inserted;
+    }
+}
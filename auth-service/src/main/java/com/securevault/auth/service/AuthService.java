@@ -1,6 +1,7 @@
 package com.securevault.auth.service;
 
 import com.securevault.auth.client.AuditClient;
+import com.securevault.auth.config.JwtProperties;
 import com.securevault.auth.dto.AuthResponse;
 import com.securevault.auth.dto.LoginRequest;
 import com.securevault.auth.dto.RegisterRequest;
@@ -8,17 +9,28 @@ import com.securevault.auth.entity.RefreshToken;
 import com.securevault.auth.entity.User;
 import com.securevault.auth.exception.EmailAlreadyExistsException;
 import com.securevault.auth.exception.InvalidTokenException;
+import com.securevault.auth.model.AuthenticatedUser;
 import com.securevault.auth.model.Role;
+import com.securevault.auth.model.VerifiedToken;
 import com.securevault.auth.repository.RefreshTokenRepository;
 import com.securevault.auth.repository.UserRepository;
+import com.securevault.auth.util.TokenHashes;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -26,9 +38,11 @@ public class AuthService {
     private final UserRepository userRepository;
     private final RefreshTokenRepository refreshTokenRepository;
     private final JwtService jwtService;
+    private final JwtProperties jwtProperties;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final TokenBlacklistService tokenBlacklistService;
+    private final SessionGenerationService sessionGenerationService;
     private final AuditClient auditClient;
 
     @Transactional
@@ -62,22 +76,24 @@ public class AuthService {
 
     @Transactional
     public AuthResponse login(LoginRequest loginRequest) {
+        Authentication authentication;
         try {
-            authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             loginRequest.getEmail(),
                             loginRequest.getPassword()
                     )
             );
-        } catch (Exception e) {
+        } catch (AuthenticationException e) {
+            // Only real credential failures are audited; a 503 from a saturated hashing pool is not one
             userRepository.findByEmail(loginRequest.getEmail())
                     .ifPresent(user -> auditClient.logAuth(user.getId(), "USER_LOGIN_FAILED", "FAILURE",
                             "Login failed for: " + loginRequest.getEmail(), null));
             throw e;
         }
 
-        User user = userRepository.findByEmail(loginRequest.getEmail())
-                .orElseThrow();
+        // Loaded by UserDetailsServiceImpl during authentication, in this transaction
+        User user = ((AuthenticatedUser) authentication.getPrincipal()).getUser();
 
         if (Boolean.TRUE.equals(user.getTotpEnabled())) {
             return AuthResponse.builder()
@@ -98,12 +114,20 @@ public class AuthService {
         return buildAuthResponse(user, accessToken, refreshToken);
     }
 
-    @Transactional
+    // The family revocation on reuse must survive the exception
+    @Transactional(dontRollbackOn = InvalidTokenException.class)
     public AuthResponse refresh(String refreshTokenString) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(refreshTokenString)
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(TokenHashes.sha256(refreshTokenString))
                 .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
 
         if (refreshToken.getRevoked()) {
+            // A rotated token presented again means it was copied: end the whole session it belongs to
+            if (refreshToken.getFamilyId() != null) {
+                refreshTokenRepository.revokeFamily(refreshToken.getFamilyId());
+            }
+            User user = refreshToken.getUser();
+            auditClient.logAuth(user.getId(), "REFRESH_TOKEN_REUSED", "FAILURE",
+                    "Revoked refresh token reused, session revoked for: " + user.getEmail(), null);
             throw new InvalidTokenException("Refresh token has been revoked");
         }
 
@@ -120,7 +144,7 @@ public class AuthService {
         String newAccessToken = jwtService.generateAccessToken(user);
         String newRefreshToken = jwtService.generateRefreshToken(user);
 
-        saveRefreshToken(user, newRefreshToken);
+        saveRefreshToken(user, newRefreshToken, refreshToken.getFamilyId());
 
         auditClient.logAuth(user.getId(), "TOKEN_REFRESHED", "SUCCESS",
                 "Token refreshed for: " + user.getEmail(), null);
@@ -130,24 +154,53 @@ public class AuthService {
 
     @Transactional
     public void logout(String refreshTokenString, String accessToken) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(refreshTokenString)
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(TokenHashes.sha256(refreshTokenString))
                 .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
 
         refreshToken.setRevoked(true);
         refreshTokenRepository.save(refreshToken);
 
-        String tokenId = jwtService.extractTokenId(accessToken);
-        long expiration = jwtService.extractExpiration(accessToken);
-        tokenBlacklistService.blacklist(tokenId, expiration);
+        VerifiedToken token = jwtService.verify(accessToken);
+        tokenBlacklistService.blacklist(token.tokenId(), token.secondsUntilExpiry());
 
         User user = refreshToken.getUser();
         auditClient.logAuth(user.getId(), "USER_LOGOUT", "SUCCESS",
                 "User logged out: " + user.getEmail(), null);
     }
 
+    // Revokes every session of the user: access tokens through the generation bump, refresh tokens in one UPDATE
+    @Transactional
+    public void logoutAll(UUID userId) {
+        userRepository.incrementSessionGeneration(userId);
+        long generation = userRepository.findSessionGenerationById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        sessionGenerationService.publish(userId, generation);
+        int revoked = refreshTokenRepository.revokeAllForUser(userId);
+
+        auditClient.logAuth(userId, "USER_LOGOUT_ALL", "SUCCESS",
+                "All sessions revoked (" + revoked + " refresh tokens)", null);
+    }
+
+    // Incident response: revokes access tokens by id for their longest possible remaining lifetime
+    public int revokeAccessTokens(Collection<String> tokenIds, UUID adminId) {
+        Set<String> distinct = new LinkedHashSet<>(tokenIds);
+        tokenBlacklistService.blacklistAll(distinct,
+                TimeUnit.MILLISECONDS.toSeconds(jwtProperties.getAccessTokenExpiration()));
+
+        auditClient.logAuth(adminId, "ACCESS_TOKENS_REVOKED", "SUCCESS",
+                "Revoked " + distinct.size() + " access tokens", null);
+        return distinct.size();
+    }
+
+    // Starts a new token family, i.e. a new session
     public void saveRefreshToken(User user, String tokenString) {
+        saveRefreshToken(user, tokenString, UUID.randomUUID());
+    }
+
+    private void saveRefreshToken(User user, String tokenString, UUID familyId) {
         RefreshToken refreshToken = RefreshToken.builder()
-                .token(tokenString)
+                .tokenHash(TokenHashes.sha256(tokenString))
+                .familyId(familyId != null ? familyId : UUID.randomUUID())
                 .user(user)
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
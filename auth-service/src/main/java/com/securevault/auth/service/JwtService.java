@@ -2,83 +2,140 @@ package com.securevault.auth.service;
 
 import com.securevault.auth.config.JwtProperties;
 import com.securevault.auth.entity.User;
+import com.securevault.auth.model.VerifiedToken;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.SignatureAlgorithm;
 import org.springframework.stereotype.Service;
 
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
 import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 public class JwtService {
     private final JwtProperties jwtProperties;
+    private final SignatureAlgorithm signatureAlgorithm;
+    private final String keyId;
+    // Verification keys by kid: the active key first, then the retired ones
+    private final Map<String, PublicKey> publicKeys;
+    // Tokens issued before kid headers were introduced were signed with the oldest configured key
+    private final PublicKey kidlessKey;
+    private final String jwkSetJson;
+    // Immutable and thread-safe, so built once instead of per call
+    private final JwtParser parser;
+
+    public JwtService(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.signatureAlgorithm = (SignatureAlgorithm) Jwts.SIG.get().forKey(jwtProperties.getAlgorithm());
+        this.keyId = keyIdOf(jwtProperties.getKeyId(), jwtProperties.getPublicKey());
+
+        Map<String, PublicKey> keys = new LinkedHashMap<>();
+        keys.put(keyId, jwtProperties.getPublicKey());
+        PublicKey oldest = jwtProperties.getPublicKey();
+        for (JwtProperties.PreviousKey previous : jwtProperties.getPreviousKeys()) {
+            keys.put(keyIdOf(previous.getKeyId(), previous.getPublicKey()), previous.getPublicKey());
+            oldest = previous.getPublicKey();
+        }
+        this.publicKeys = Collections.unmodifiableMap(keys);
+        this.kidlessKey = oldest;
+        this.jwkSetJson = buildJwkSetJson(keys);
+
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return header.getKeyId() == null ? kidlessKey : publicKeys.get(header.getKeyId());
+                    }
+                })
+                .build();
+    }
 
     public String generateAccessToken(User user) {
         return Jwts.builder()
+                .header().keyId(keyId).and()
                 .claims(buildClaims(user))
                 .claim("jti", UUID.randomUUID().toString())
                 .subject(user.getId().toString())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + jwtProperties.getAccessTokenExpiration()))
-                .signWith(jwtProperties.getPrivateKey())
+                .signWith(jwtProperties.getPrivateKey(), signatureAlgorithm)
                 .compact();
     }
 
     public String generateRefreshToken(User user) {
         return Jwts.builder()
+                .header().keyId(keyId).and()
                 .subject(user.getId().toString())
                 .id(UUID.randomUUID().toString())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + jwtProperties.getRefreshTokenExpiration()))
-                .signWith(jwtProperties.getPrivateKey())
+                .signWith(jwtProperties.getPrivateKey(), signatureAlgorithm)
                 .compact();
     }
 
+    // Checks signature and expiry once and returns every claim the services use.
+    // Throws JwtException or IllegalArgumentException for invalid tokens.
+    public VerifiedToken verify(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        return new VerifiedToken(
+                claims.getId(),
+                UUID.fromString(claims.getSubject()),
+                claims.get("email", String.class),
+                claims.get("role", String.class),
+                sessionGenerationOf(claims),
+                claims.getExpiration().toInstant()
+        );
+    }
+
     public boolean validateToken(String token) {
         try {
-            parseClaims(token);
+            verify(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
 
-    public UUID extractUserId(String token) {
-        return UUID.fromString(parseClaims(token).getSubject());
-    }
-
-    public String extractEmail(String token) {
-        return parseClaims(token).get("email", String.class);
-    }
-
-    public String extractRole(String token) {
-        return parseClaims(token).get("role", String.class);
-    }
-
-    public String extractTokenId(String token) {
-        return parseClaims(token).getId();
-    }
-
-    public long extractExpiration(String token) {
-        Date exp = parseClaims(token).getExpiration();
-        return Math.max(0, (exp.getTime() - System.currentTimeMillis()) / 1000);
+    // Public keys of the active and retired signing keys, served at /.well-known/jwks.json
+    public String getJwkSetJson() {
+        return jwkSetJson;
     }
 
     private Claims buildClaims(User user) {
         return Jwts.claims()
                 .add("email", user.getEmail())
                 .add("role", user.getRole().name())
+                .add("gen", user.getSessionGeneration() != null ? user.getSessionGeneration() : 0L)
                 .build();
     }
 
-    private Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(jwtProperties.getPublicKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    // Tokens issued before session generations existed count as generation 0
+    private static long sessionGenerationOf(Claims claims) {
+        Number generation = claims.get("gen", Number.class);
+        return generation != null ? generation.longValue() : 0L;
+    }
+
+    private static String keyIdOf(String configured, PublicKey publicKey) {
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        return Jwks.builder().key(publicKey).build().thumbprint().toString();
+    }
+
+    private static String buildJwkSetJson(Map<String, PublicKey> keys) {
+        StringJoiner json = new StringJoiner(",", "{\"keys\":[", "]}");
+        keys.forEach((kid, key) -> json.add(Jwks.json(Jwks.builder().key(key).id(kid).publicKeyUse("sig").build())));
+        return json.toString();
     }
 }
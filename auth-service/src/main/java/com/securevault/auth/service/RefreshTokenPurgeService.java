@@ -0,0 +1,35 @@
+package com.securevault.auth.service;
+
+import com.securevault.auth.config.RefreshTokenProperties;
+import com.securevault.auth.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+// Deletes expired refresh tokens, revoked or not, so the table and its unique index only hold sessions that can
+// still be refreshed or whose replay must still be detected
+@Service
+// Created at startup even with lazy initialization, since nothing else references it and the schedule needs the bean
+@Lazy(false)
+@RequiredArgsConstructor
+public class RefreshTokenPurgeService {
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenProperties refreshTokenProperties;
+
+    @Scheduled(fixedDelayString = "${refresh-tokens.purge-interval:1h}", initialDelayString = "${refresh-tokens.purge-interval:1h}")
+    public int purge() {
+        LocalDateTime now = LocalDateTime.now();
+        int batchSize = refreshTokenProperties.getPurgeBatchSize();
+
+        int total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.purgeBatch(now, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+}
@@ -0,0 +1,35 @@
+package com.securevault.auth.service;
+
+import com.securevault.auth.config.JwtProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Per-user session generation in Redis. The users table is the source of truth for new tokens; the Redis key only
+// has to outlive the access tokens issued before a bump, so it expires with them.
+@Service
+@RequiredArgsConstructor
+public class SessionGenerationService {
+    private final StringRedisTemplate redisTemplate;
+    private final JwtProperties jwtProperties;
+    // Also read by the gateway
+    private static final String SESSION_GENERATION_PREFIX = "session-gen:";
+
+    public void publish(UUID userId, long generation) {
+        redisTemplate.opsForValue().set(
+                SESSION_GENERATION_PREFIX + userId,
+                String.valueOf(generation),
+                jwtProperties.getAccessTokenExpiration(),
+                TimeUnit.MILLISECONDS
+        );
+    }
+
+    // True when the user's sessions were revoked after the token was issued; a single GET per request
+    public boolean isRevoked(UUID userId, long tokenGeneration) {
+        String current = redisTemplate.opsForValue().get(SESSION_GENERATION_PREFIX + userId);
+        return current != null && tokenGeneration < Long.parseLong(current);
+    }
+}
@@ -1,17 +1,43 @@
 package com.securevault.auth.service;
 
+import com.securevault.auth.config.TokenBlacklistProperties;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+// Revoked access-token ids live in Redis and in a local cache on every instance. Revocations are published on
+// CHANNEL so the other instances add them to their cache without a Redis round trip per request.
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class TokenBlacklistService {
-    private final StringRedisTemplate redisTemplate;
+public class TokenBlacklistService implements MessageListener {
+    public static final String CHANNEL = "token-blacklist";
     private static final String BLACKLIST_PREFIX = "blacklist:";
 
+    private final StringRedisTemplate redisTemplate;
+    private final TokenBlacklistProperties properties;
+
+    // Revoked token id -> epoch millis at which the token expires anyway
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    // Token id Redis reported as not revoked -> System.nanoTime() of that answer
+    private final Map<String, Long> notRevoked = new ConcurrentHashMap<>();
+
     public void blacklist(String tokenId, long expirationInSeconds) {
         redisTemplate.opsForValue().set(
                 BLACKLIST_PREFIX + tokenId,
@@ -19,9 +45,97 @@ public class TokenBlacklistService {
                 expirationInSeconds,
                 TimeUnit.SECONDS
         );
+        long expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(expirationInSeconds);
+        remember(tokenId, expiresAt);
+        redisTemplate.convertAndSend(CHANNEL, entry(tokenId, expiresAt));
+    }
+
+    // Incident response: every SET and the single announcement go out in one pipelined round trip
+    public void blacklistAll(Collection<String> tokenIds, long expirationInSeconds) {
+        if (tokenIds.isEmpty()) {
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(expirationInSeconds);
+        StringJoiner message = new StringJoiner("\n");
+        tokenIds.forEach(tokenId -> message.add(entry(tokenId, expiresAt)));
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection commands = (StringRedisConnection) connection;
+            for (String tokenId : tokenIds) {
+                commands.set(BLACKLIST_PREFIX + tokenId, "revoked",
+                        Expiration.seconds(expirationInSeconds), RedisStringCommands.SetOption.upsert());
+            }
+            commands.publish(CHANNEL, message.toString());
+            return null;
+        });
+        tokenIds.forEach(tokenId -> remember(tokenId, expiresAt));
+    }
+
+    // Known revocations are answered locally; everything else goes to Redis at most once per negative-cache TTL
+    public boolean isBlacklisted(String tokenId, Instant expiresAt) {
+        Long revokedUntil = revoked.get(tokenId);
+        if (revokedUntil != null) {
+            if (revokedUntil > System.currentTimeMillis()) {
+                return true;
+            }
+            revoked.remove(tokenId, revokedUntil);
+        }
+
+        long ttlNanos = properties.getNegativeCacheTtl().toNanos();
+        long now = System.nanoTime();
+        if (ttlNanos > 0) {
+            Long checkedAt = notRevoked.get(tokenId);
+            if (checkedAt != null && now - checkedAt < ttlNanos) {
+                return false;
+            }
+        }
+
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(BLACKLIST_PREFIX + tokenId))) {
+            remember(tokenId, expiresAt.toEpochMilli());
+            return true;
+        }
+        if (ttlNanos > 0) {
+            if (notRevoked.size() >= properties.getNegativeCacheSize()) {
+                notRevoked.clear();
+            }
+            notRevoked.put(tokenId, now);
+        }
+        return false;
+    }
+
+    // Revocations announced by any instance, including this one
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        for (String line : body.split("\n")) {
+            int separator = line.lastIndexOf(' ');
+            if (separator <= 0) {
+                log.warn("Ignoring malformed blacklist message: {}", line);
+                continue;
+            }
+            try {
+                remember(line.substring(0, separator), Long.parseLong(line.substring(separator + 1)));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed blacklist message: {}", line);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${token-blacklist.cleanup-interval:1m}")
+    public void evictExpired() {
+        long nowMillis = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        long now = System.nanoTime();
+        long ttlNanos = properties.getNegativeCacheTtl().toNanos();
+        notRevoked.values().removeIf(checkedAt -> now - checkedAt >= ttlNanos);
+    }
+
+    private void remember(String tokenId, long expiresAt) {
+        notRevoked.remove(tokenId);
+        revoked.merge(tokenId, expiresAt, Math::max);
     }
 
-    public boolean isBlacklisted(String tokenId) {
-        return Boolean.TRUE.equals(redisTemplate.hasKey(BLACKLIST_PREFIX + tokenId));
+    private static String entry(String tokenId, long expiresAt) {
+        return tokenId + " " + expiresAt;
     }
 }
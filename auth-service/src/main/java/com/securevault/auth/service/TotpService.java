@@ -4,34 +4,53 @@ import com.securevault.auth.client.AuditClient;
 import com.securevault.auth.entity.User;
 import com.securevault.auth.exception.TotpVerificationException;
 import com.securevault.auth.repository.UserRepository;
-import dev.samstevens.totp.code.CodeGenerator;
-import dev.samstevens.totp.code.CodeVerifier;
-import dev.samstevens.totp.code.DefaultCodeGenerator;
-import dev.samstevens.totp.code.DefaultCodeVerifier;
-import dev.samstevens.totp.code.HashingAlgorithm;
-import dev.samstevens.totp.secret.DefaultSecretGenerator;
-import dev.samstevens.totp.secret.SecretGenerator;
-import dev.samstevens.totp.time.SystemTimeProvider;
-import dev.samstevens.totp.time.TimeProvider;
+import com.securevault.auth.util.Base32;
+import com.securevault.auth.util.Totp;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
 public class TotpService {
     private final UserRepository userRepository;
     private final AuditClient auditClient;
-
-    private final SecretGenerator secretGenerator = new DefaultSecretGenerator();
-    private final TimeProvider timeProvider = new SystemTimeProvider();
-    private final CodeGenerator codeGenerator = new DefaultCodeGenerator(HashingAlgorithm.SHA1);
-    private final CodeVerifier codeVerifier = new DefaultCodeVerifier(codeGenerator, timeProvider);
-
-    // Random Base32 secret generator
+    private final StringRedisTemplate redisTemplate;
+
+    // Accepts codes from one step before and after the current one, for clock drift
+    private static final int WINDOW = 1;
+    private static final int SECRET_BYTES = 20;
+    private static final int DECODED_SECRET_CACHE_SIZE = 10_000;
+    private static final String LAST_STEP_PREFIX = "totp-step:";
+    // Long enough to outlive every step the window can still accept
+    private static final long LAST_STEP_TTL_SECONDS = (2L * WINDOW + 2) * Totp.PERIOD_SECONDS;
+    // Records the step only if it is newer than the last accepted one, atomically across instances
+    private static final RedisScript<Long> CLAIM_STEP = new DefaultRedisScript<>("""
+            local last = tonumber(redis.call('GET', KEYS[1]) or '-1')
+            if tonumber(ARGV[1]) > last then
+                redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Map<UUID, DecodedSecret> decodedSecrets = new ConcurrentHashMap<>();
+
+    // Random 160-bit secret, Base32 encoded
     public String generateSecret() {
-        return secretGenerator.generate();
+        byte[] secret = new byte[SECRET_BYTES];
+        secureRandom.nextBytes(secret);
+        return Base32.encode(secret);
     }
 
     public String generateQrCodeUri(String secret, String email) {
@@ -41,8 +60,19 @@ public class TotpService {
         );
     }
 
-    public boolean verifyCode(String secret, String code) {
-        return codeVerifier.isValidCode(secret, code);
+    // A code is accepted once: its time step must be newer than the last one accepted for the user
+    public boolean verifyCode(UUID userId, String secret, String code) {
+        if (secret == null) {
+            return false;
+        }
+        long currentStep = Totp.timeStep(Instant.now().getEpochSecond());
+        long step = Totp.matchingStep(decodedSecret(userId, secret), code, currentStep, WINDOW);
+        if (step < 0) {
+            return false;
+        }
+        Long claimed = redisTemplate.execute(CLAIM_STEP, List.of(LAST_STEP_PREFIX + userId),
+                String.valueOf(step), String.valueOf(LAST_STEP_TTL_SECONDS));
+        return claimed != null && claimed == 1L;
     }
 
     public void enableTotp(UUID userId, String code) {
@@ -53,7 +83,7 @@ public class TotpService {
             throw new TotpVerificationException("No TOTP secret found. Call setup first.");
         }
 
-        if (!verifyCode(user.getTotpSecret(), code)) {
+        if (!verifyCode(userId, user.getTotpSecret(), code)) {
             throw new TotpVerificationException("Invalid TOTP code");
         }
 
@@ -68,15 +98,33 @@ public class TotpService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        if (!verifyCode(user.getTotpSecret(), code)) {
+        if (!verifyCode(userId, user.getTotpSecret(), code)) {
             throw new TotpVerificationException("Invalid TOTP code");
         }
 
         user.setTotpEnabled(false);
         user.setTotpSecret(null);
         userRepository.save(user);
+        decodedSecrets.remove(userId);
 
         auditClient.logAuth(userId, "TOTP_DISABLED", "SUCCESS",
                 "TOTP disabled for user", null);
     }
+
+    // Decoded once per user and secret; a new secret from setup replaces the entry
+    private byte[] decodedSecret(UUID userId, String secret) {
+        DecodedSecret cached = decodedSecrets.get(userId);
+        if (cached != null && cached.encoded().equals(secret)) {
+            return cached.key();
+        }
+        DecodedSecret decoded = new DecodedSecret(secret, Base32.decode(secret));
+        if (decodedSecrets.size() >= DECODED_SECRET_CACHE_SIZE) {
+            decodedSecrets.clear();
+        }
+        decodedSecrets.put(userId, decoded);
+        return decoded.key();
+    }
+
+    private record DecodedSecret(String encoded, byte[] key) {
+    }
 }
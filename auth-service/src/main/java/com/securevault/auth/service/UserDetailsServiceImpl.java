@@ -1,28 +1,78 @@
 package com.securevault.auth.service;
 
+import com.securevault.auth.config.PrincipalProperties;
 import com.securevault.auth.entity.User;
+import com.securevault.auth.model.AuthenticatedUser;
 import com.securevault.auth.repository.UserRepository;
+import jakarta.transaction.Transactional;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
+    private final PrincipalProperties principalProperties;
+
+    private final Map<UUID, CachedUser> userCache = new ConcurrentHashMap<>();
 
+    // Used by password login; the principal carries the entity so AuthService does not load it again
     @Override
     @NonNull
     public UserDetails loadUserByUsername(@NonNull String username) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(username).orElseThrow(() -> new UsernameNotFoundException(username));
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPasswordHash(),
-                java.util.List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-        );
+        return AuthenticatedUser.of(user);
+    }
+
+    // Used for bearer requests when auth.principal.load-user is on; entries hold no entity and no password hash
+    public AuthenticatedUser loadUserById(UUID id) {
+        long ttlNanos = principalProperties.getUserCacheTtl().toNanos();
+        if (ttlNanos <= 0) {
+            return loadPrincipal(id);
+        }
+
+        long now = System.nanoTime();
+        CachedUser cached = userCache.get(id);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            return cached.principal();
+        }
+
+        AuthenticatedUser principal = loadPrincipal(id);
+        if (userCache.size() >= principalProperties.getUserCacheSize()) {
+            userCache.clear();
+        }
+        userCache.put(id, new CachedUser(principal, now));
+        return principal;
+    }
+
+    // Called by DaoAuthenticationProvider after a successful login whose stored hash was made with weaker
+    // Argon2 parameters than the configured ones; newPassword is already hashed with the current parameters
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = user instanceof AuthenticatedUser authenticated && authenticated.getUser() != null
+                ? authenticated.getUser()
+                : userRepository.findByEmail(user.getUsername())
+                        .orElseThrow(() -> new UsernameNotFoundException(user.getUsername()));
+        entity.setPasswordHash(newPassword);
+        userRepository.save(entity);
+        return AuthenticatedUser.of(entity);
+    }
+
+    private AuthenticatedUser loadPrincipal(UUID id) {
+        User user = userRepository.findById(id).orElseThrow(() -> new UsernameNotFoundException(id.toString()));
+        return AuthenticatedUser.of(user.getId(), user.getEmail(), user.getRole());
+    }
+
+    private record CachedUser(AuthenticatedUser principal, long loadedAt) {
     }
 }
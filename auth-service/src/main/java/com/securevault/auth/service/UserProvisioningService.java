@@ -0,0 +1,131 @@
+package com.securevault.auth.service;
+
+import com.securevault.auth.client.AuditClient;
+import com.securevault.auth.client.AuditEventRequest;
+import com.securevault.auth.config.PasswordHashingProperties;
+import com.securevault.auth.config.ProvisioningProperties;
+import com.securevault.auth.dto.BulkRegisterResponse;
+import com.securevault.auth.dto.RegisterRequest;
+import com.securevault.auth.entity.User;
+import com.securevault.auth.model.Role;
+import com.securevault.auth.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Bulk registration for customer onboarding. Passwords are hashed concurrently through the bounded hashing pool,
+// the users are inserted in multi-row statements that skip existing emails, and the audit events are sent in
+// batches. A retried request only creates the users that are still missing.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserProvisioningService {
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final AuditClient auditClient;
+    private final ProvisioningProperties provisioningProperties;
+    private final PasswordHashingProperties passwordHashingProperties;
+
+    public BulkRegisterResponse registerAll(List<RegisterRequest> requests, UUID adminId) {
+        // The first occurrence of an email wins; later ones are reported as skipped
+        Map<String, RegisterRequest> distinct = new LinkedHashMap<>();
+        List<String> skipped = new ArrayList<>();
+        for (RegisterRequest request : requests) {
+            if (distinct.putIfAbsent(request.getEmail(), request) != null) {
+                skipped.add(request.getEmail());
+            }
+        }
+
+        List<User> users = hashAll(List.copyOf(distinct.values()));
+        Set<String> created = userRepository.insertIgnoringExisting(users, provisioningProperties.getInsertBatchSize());
+
+        List<AuditEventRequest> events = new ArrayList<>(created.size());
+        for (User user : users) {
+            if (created.contains(user.getEmail())) {
+                events.add(AuditEventRequest.builder()
+                        .userId(user.getId())
+                        .action("USER_REGISTERED")
+                        .resourceType("USER")
+                        .resourceId(user.getId())
+                        .status("SUCCESS")
+                        .description("User provisioned: " + user.getEmail())
+                        .metadata("{\"provisionedBy\":\"" + adminId + "\"}")
+                        .build());
+            } else {
+                skipped.add(user.getEmail());
+            }
+        }
+        int auditBatchSize = provisioningProperties.getAuditBatchSize();
+        for (int from = 0; from < events.size(); from += auditBatchSize) {
+            auditClient.sendEvents(List.copyOf(events.subList(from, Math.min(from + auditBatchSize, events.size()))));
+        }
+
+        log.info("Provisioned {} of {} users", created.size(), requests.size());
+        return BulkRegisterResponse.builder()
+                .requested(requests.size())
+                .created(created.size())
+                .skippedEmails(skipped)
+                .build();
+    }
+
+    // At most hashingParallelism of this request's hashes are in the hashing pool at a time, so a large
+    // onboarding batch never fills the pool queue and turns interactive logins into 503s
+    private List<User> hashAll(List<RegisterRequest> requests) {
+        List<User> users = new ArrayList<>(requests.size());
+        try (ExecutorService executor = Executors.newFixedThreadPool(hashingParallelism())) {
+            List<Future<User>> futures = new ArrayList<>(requests.size());
+            for (RegisterRequest request : requests) {
+                futures.add(executor.submit(() -> toUser(request)));
+            }
+            try {
+                for (Future<User> future : futures) {
+                    users.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+                throw new IllegalStateException("Interrupted while hashing passwords", e);
+            } catch (ExecutionException e) {
+                executor.shutdownNow();
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return users;
+    }
+
+    private User toUser(RegisterRequest request) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .email(request.getEmail())
+                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .role(Role.USER)
+                .build();
+    }
+
+    private int hashingParallelism() {
+        if (provisioningProperties.getHashingParallelism() > 0) {
+            return provisioningProperties.getHashingParallelism();
+        }
+        int hashingThreads = passwordHashingProperties.getThreads() > 0
+                ? passwordHashingProperties.getThreads()
+                : Runtime.getRuntime().availableProcessors();
+        return Math.max(1, hashingThreads / 2);
+    }
+}
@@ -0,0 +1,63 @@
+package com.securevault.auth.util;
+
+import java.util.Arrays;
+
+// RFC 4648 Base32 without padding, the alphabet authenticator apps expect for TOTP secrets
+public final class Base32 {
+    private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567".toCharArray();
+    private static final int[] LOOKUP = new int[128];
+
+    static {
+        Arrays.fill(LOOKUP, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            LOOKUP[ALPHABET[i]] = i;
+            LOOKUP[Character.toLowerCase(ALPHABET[i])] = i;
+        }
+    }
+
+    private Base32() {
+    }
+
+    public static String encode(byte[] data) {
+        StringBuilder encoded = new StringBuilder((data.length * 8 + 4) / 5);
+        int buffer = 0;
+        int bits = 0;
+        for (byte b : data) {
+            buffer = (buffer << 8) | (b & 0xFF);
+            bits += 8;
+            while (bits >= 5) {
+                encoded.append(ALPHABET[(buffer >>> (bits - 5)) & 0x1F]);
+                bits -= 5;
+            }
+        }
+        if (bits > 0) {
+            encoded.append(ALPHABET[(buffer << (5 - bits)) & 0x1F]);
+        }
+        return encoded.toString();
+    }
+
+    // Ignores padding, spaces and dashes that users may copy along with the secret
+    public static byte[] decode(String encoded) {
+        byte[] decoded = new byte[encoded.length() * 5 / 8];
+        int buffer = 0;
+        int bits = 0;
+        int length = 0;
+        for (int i = 0; i < encoded.length(); i++) {
+            char c = encoded.charAt(i);
+            if (c == '=' || c == ' ' || c == '-') {
+                continue;
+            }
+            int value = c < 128 ? LOOKUP[c] : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid Base32 character: " + c);
+            }
+            buffer = (buffer << 5) | value;
+            bits += 5;
+            if (bits >= 8) {
+                decoded[length++] = (byte) (buffer >>> (bits - 8));
+                bits -= 8;
+            }
+        }
+        return length == decoded.length ? decoded : Arrays.copyOf(decoded, length);
+    }
+}
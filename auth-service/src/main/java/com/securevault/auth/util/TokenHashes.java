@@ -0,0 +1,21 @@
+package com.securevault.auth.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// Refresh tokens are stored as SHA-256 digests: a fixed 32-byte key keeps the unique index small, and a
+// database leak does not hand out usable tokens. The tokens are random, so an unsalted hash is enough.
+public final class TokenHashes {
+
+    private TokenHashes() {
+    }
+
+    public static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
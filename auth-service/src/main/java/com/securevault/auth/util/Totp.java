@@ -0,0 +1,104 @@
+package com.securevault.auth.util;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+
+// RFC 6238 TOTP with HMAC-SHA1, 6 digits and 30 second steps, the parameters every authenticator app supports.
+// Each thread reuses one Mac and its buffers, and re-keys it only when the key changes, so checking the steps of
+// one window initialises the Mac once.
+public final class Totp {
+    public static final int PERIOD_SECONDS = 30;
+    public static final int DIGITS = 6;
+    private static final int MODULUS = 1_000_000;
+    private static final String ALGORITHM = "HmacSHA1";
+
+    private static final ThreadLocal<Hmac> HMAC = ThreadLocal.withInitial(Hmac::new);
+
+    private Totp() {
+    }
+
+    public static long timeStep(long epochSeconds) {
+        return Math.floorDiv(epochSeconds, PERIOD_SECONDS);
+    }
+
+    public static int generate(byte[] key, long timeStep) {
+        byte[] hash = HMAC.get().sign(key, timeStep);
+        // Dynamic truncation (RFC 4226 section 5.3)
+        int offset = hash[hash.length - 1] & 0x0F;
+        int binary = ((hash[offset] & 0x7F) << 24)
+                | ((hash[offset + 1] & 0xFF) << 16)
+                | ((hash[offset + 2] & 0xFF) << 8)
+                | (hash[offset + 3] & 0xFF);
+        return binary % MODULUS;
+    }
+
+    // Returns the time step within +-window of currentStep whose code equals the given one, or -1. Every step in
+    // the window is computed and compared without branching on the code, so timing does not reveal which step or
+    // digit matched.
+    public static long matchingStep(byte[] key, String code, long currentStep, int window) {
+        int provided = parse(code);
+        long matched = -1;
+        for (long step = currentStep - window; step <= currentStep + window; step++) {
+            int diff = generate(key, step) ^ provided;
+            // All ones when diff == 0, zero otherwise
+            long mask = ((long) (diff | -diff) >> 63) ^ -1L;
+            matched = (matched & ~mask) | (step & mask);
+        }
+        return provided < 0 ? -1 : matched;
+    }
+
+    // Parses exactly DIGITS ASCII digits without allocating; -1 for anything else
+    static int parse(String code) {
+        if (code == null || code.length() != DIGITS) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < DIGITS; i++) {
+            int digit = code.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static final class Hmac {
+        private final Mac mac;
+        private final byte[] counter = new byte[8];
+        private final byte[] hash;
+        // Compared by identity: callers pass the same cached array for the same secret
+        private byte[] currentKey;
+
+        Hmac() {
+            try {
+                mac = Mac.getInstance(ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(ALGORITHM + " not available", e);
+            }
+            hash = new byte[mac.getMacLength()];
+        }
+
+        byte[] sign(byte[] key, long timeStep) {
+            for (int i = 7; i >= 0; i--) {
+                counter[i] = (byte) timeStep;
+                timeStep >>>= 8;
+            }
+            try {
+                if (key != currentKey) {
+                    mac.init(new SecretKeySpec(key, ALGORITHM));
+                    currentKey = key;
+                }
+                // doFinal resets the Mac to the initialised state, ready for the next counter
+                mac.update(counter);
+                mac.doFinal(hash, 0);
+            } catch (InvalidKeyException | ShortBufferException e) {
+                throw new IllegalArgumentException("Invalid TOTP key", e);
+            }
+            return hash;
+        }
+    }
+}
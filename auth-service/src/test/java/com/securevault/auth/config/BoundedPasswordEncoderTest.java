@@ -0,0 +1,108 @@
+package com.securevault.auth.config;
+
+import com.securevault.auth.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    void encodeAndMatches_DelegateOnHashingPool() {
+        encoder = new BoundedPasswordEncoder(new PrefixEncoder(), properties(1, 1, Duration.ofSeconds(5)), meterRegistry);
+
+        String hash = encoder.encode("secret");
+
+        assertThat(hash).isEqualTo("hashed:secret");
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("other", hash)).isFalse();
+        assertThat(meterRegistry.timer("password.hashing", "operation", "encode").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("password.hashing", "operation", "matches").count()).isEqualTo(2);
+    }
+
+    @Test
+    void saturatedPool_RejectsImmediately() throws Exception {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), properties(1, 1, Duration.ofSeconds(5)), meterRegistry);
+
+        // One call occupies the only thread, a second one fills the queue
+        CompletableFuture.runAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(() -> encoder.encode("second"));
+        waitForQueued();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> encoder.encode("third"))
+                .isInstanceOf(HashingCapacityExceededException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(meterRegistry.counter("password.hashing.rejected").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void slowHash_TimesOutWithinMaxWait() {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), properties(1, 1, Duration.ofMillis(100)), meterRegistry);
+
+        assertThatThrownBy(() -> encoder.encode("slow"))
+                .isInstanceOf(HashingCapacityExceededException.class);
+    }
+
+    private void waitForQueued() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").gauge().value() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static PasswordHashingProperties properties(int threads, int queueCapacity, Duration maxWait) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setMaxWait(maxWait);
+        return properties;
+    }
+
+    private static class PrefixEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    // Holds the hashing thread until the test releases it
+    private class BlockingEncoder extends PrefixEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.encode(rawPassword);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.securevault.auth.service;
 
+import com.securevault.auth.client.AuditClient;
+import com.securevault.auth.config.JwtProperties;
 import com.securevault.auth.dto.AuthResponse;
 import com.securevault.auth.dto.LoginRequest;
 import com.securevault.auth.dto.RegisterRequest;
@@ -7,28 +9,42 @@ import com.securevault.auth.entity.RefreshToken;
 import com.securevault.auth.entity.User;
 import com.securevault.auth.exception.EmailAlreadyExistsException;
 import com.securevault.auth.exception.InvalidTokenException;
+import com.securevault.auth.model.AuthenticatedUser;
 import com.securevault.auth.model.Role;
+import com.securevault.auth.model.VerifiedToken;
 import com.securevault.auth.repository.RefreshTokenRepository;
 import com.securevault.auth.repository.UserRepository;
+import com.securevault.auth.util.TokenHashes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -42,11 +58,17 @@ class AuthServiceTest {
     @Mock
     private JwtService jwtService;
     @Mock
+    private JwtProperties jwtProperties;
+    @Mock
     private PasswordEncoder passwordEncoder;
     @Mock
     private AuthenticationManager authenticationManager;
     @Mock
     private TokenBlacklistService tokenBlacklistService;
+    @Mock
+    private SessionGenerationService sessionGenerationService;
+    @Mock
+    private AuditClient auditClient;
 
     @InjectMocks
     private AuthService authService;
@@ -110,8 +132,7 @@ class AuthServiceTest {
     @Test
     void login_Success_ReturnsTokens() {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenReturn(null);
-        when(userRepository.findByEmail("test@securevault.com")).thenReturn(Optional.of(testUser));
+                .thenReturn(authenticated(testUser));
         when(jwtService.generateAccessToken(testUser)).thenReturn("access-token");
         when(jwtService.generateRefreshToken(testUser)).thenReturn("refresh-token");
 
@@ -136,27 +157,52 @@ class AuthServiceTest {
     @Test
     void login_TotpEnabled_ReturnsTotpRequired() {
         testUser.setTotpEnabled(true);
-        when(authenticationManager.authenticate(any())).thenReturn(null);
-        when(userRepository.findByEmail("test@securevault.com")).thenReturn(Optional.of(testUser));
+        when(authenticationManager.authenticate(any())).thenReturn(authenticated(testUser));
 
         AuthResponse response = authService.login(loginRequest);
 
         assertThat(response.getTotpRequired()).isTrue();
         assertThat(response.getMessage()).isEqualTo("2FA verification required");
         assertThat(response.getAccessToken()).isNull();
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void saveRefreshToken_StoresHashInsteadOfToken() {
+        authService.saveRefreshToken(testUser, "refresh-token");
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getTokenHash())
+                .hasSize(32)
+                .isEqualTo(TokenHashes.sha256("refresh-token"));
+    }
+
+    @Test
+    void saveRefreshToken_StartsNewFamily() {
+        authService.saveRefreshToken(testUser, "first");
+        authService.saveRefreshToken(testUser, "second");
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository, times(2)).save(saved.capture());
+        assertThat(saved.getAllValues().get(0).getFamilyId()).isNotNull()
+                .isNotEqualTo(saved.getAllValues().get(1).getFamilyId());
     }
 
     @Test
     void refresh_ValidToken_ReturnsNewTokens() {
+        UUID familyId = UUID.randomUUID();
         RefreshToken refreshToken = RefreshToken.builder()
                 .id(UUID.randomUUID())
-                .token("old-refresh-token")
+                .familyId(familyId)
+                .tokenHash(TokenHashes.sha256("old-refresh-token"))
                 .user(testUser)
                 .revoked(false)
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
 
-        when(refreshTokenRepository.findByToken("old-refresh-token")).thenReturn(Optional.of(refreshToken));
+        when(refreshTokenRepository.findByTokenHash(aryEq(TokenHashes.sha256("old-refresh-token"))))
+                .thenReturn(Optional.of(refreshToken));
         when(jwtService.generateAccessToken(testUser)).thenReturn("new-access-token");
         when(jwtService.generateRefreshToken(testUser)).thenReturn("new-refresh-token");
 
@@ -166,32 +212,65 @@ class AuthServiceTest {
         assertThat(response.getRefreshToken()).isEqualTo("new-refresh-token");
         assertThat(refreshToken.getRevoked()).isTrue();
         verify(refreshTokenRepository).save(refreshToken);
+        // The rotated token stays in the same family
+        verify(refreshTokenRepository).save(argThat((RefreshToken saved) -> saved != refreshToken
+                && familyId.equals(saved.getFamilyId())));
     }
 
     @Test
-    void refresh_RevokedToken_ThrowsException() {
+    void refresh_RevokedToken_RevokesFamilyAndThrows() {
+        UUID familyId = UUID.randomUUID();
         RefreshToken refreshToken = RefreshToken.builder()
-                .token("revoked-token")
+                .tokenHash(TokenHashes.sha256("revoked-token"))
+                .familyId(familyId)
+                .user(testUser)
                 .revoked(true)
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
 
-        when(refreshTokenRepository.findByToken("revoked-token")).thenReturn(Optional.of(refreshToken));
+        when(refreshTokenRepository.findByTokenHash(aryEq(TokenHashes.sha256("revoked-token"))))
+                .thenReturn(Optional.of(refreshToken));
 
         assertThatThrownBy(() -> authService.refresh("revoked-token"))
                 .isInstanceOf(InvalidTokenException.class)
                 .hasMessage("Refresh token has been revoked");
+        verify(refreshTokenRepository).revokeFamily(familyId);
+        verify(jwtService, never()).generateAccessToken(any());
+        verify(auditClient).logAuth(eq(testUser.getId()), eq("REFRESH_TOKEN_REUSED"), eq("FAILURE"), anyString(), any());
+    }
+
+    @Test
+    void refresh_RevokedTokenIssuedDaysAgo_StillRevokesFamily() {
+        // The purge keeps revoked rows until they expire, so a replay late in the token's lifetime is still caught
+        UUID familyId = UUID.randomUUID();
+        RefreshToken refreshToken = RefreshToken.builder()
+                .tokenHash(TokenHashes.sha256("old-revoked-token"))
+                .familyId(familyId)
+                .user(testUser)
+                .revoked(true)
+                .createdAt(LocalDateTime.now().minusDays(6))
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+
+        when(refreshTokenRepository.findByTokenHash(aryEq(TokenHashes.sha256("old-revoked-token"))))
+                .thenReturn(Optional.of(refreshToken));
+
+        assertThatThrownBy(() -> authService.refresh("old-revoked-token"))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessage("Refresh token has been revoked");
+        verify(refreshTokenRepository).revokeFamily(familyId);
     }
 
     @Test
     void refresh_ExpiredToken_ThrowsException() {
         RefreshToken refreshToken = RefreshToken.builder()
-                .token("expired-token")
+                .tokenHash(TokenHashes.sha256("expired-token"))
                 .revoked(false)
                 .expiresAt(LocalDateTime.now().minusDays(1))
                 .build();
 
-        when(refreshTokenRepository.findByToken("expired-token")).thenReturn(Optional.of(refreshToken));
+        when(refreshTokenRepository.findByTokenHash(aryEq(TokenHashes.sha256("expired-token"))))
+                .thenReturn(Optional.of(refreshToken));
 
         assertThatThrownBy(() -> authService.refresh("expired-token"))
                 .isInstanceOf(InvalidTokenException.class)
@@ -201,19 +280,47 @@ class AuthServiceTest {
     @Test
     void logout_Success_RevokesTokenAndBlacklists() {
         RefreshToken refreshToken = RefreshToken.builder()
-                .token("refresh-token")
+                .tokenHash(TokenHashes.sha256("refresh-token"))
+                .user(testUser)
                 .revoked(false)
                 .expiresAt(LocalDateTime.now().plusDays(7))
                 .build();
 
-        when(refreshTokenRepository.findByToken("refresh-token")).thenReturn(Optional.of(refreshToken));
-        when(jwtService.extractTokenId("access-token")).thenReturn("jti-123");
-        when(jwtService.extractExpiration("access-token")).thenReturn(300L);
+        when(refreshTokenRepository.findByTokenHash(aryEq(TokenHashes.sha256("refresh-token"))))
+                .thenReturn(Optional.of(refreshToken));
+        when(jwtService.verify("access-token")).thenReturn(new VerifiedToken("jti-123", testUser.getId(),
+                testUser.getEmail(), "USER", 0L, Instant.now().plusSeconds(300)));
 
         authService.logout("refresh-token", "access-token");
 
         assertThat(refreshToken.getRevoked()).isTrue();
         verify(refreshTokenRepository).save(refreshToken);
-        verify(tokenBlacklistService).blacklist("jti-123", 300L);
+        verify(tokenBlacklistService).blacklist(eq("jti-123"), longThat(ttl -> ttl > 295 && ttl <= 300));
+    }
+
+    @Test
+    void logoutAll_BumpsGenerationAndRevokesAllRefreshTokens() {
+        when(userRepository.findSessionGenerationById(testUser.getId())).thenReturn(Optional.of(3L));
+
+        authService.logoutAll(testUser.getId());
+
+        verify(userRepository).incrementSessionGeneration(testUser.getId());
+        verify(sessionGenerationService).publish(testUser.getId(), 3L);
+        verify(refreshTokenRepository).revokeAllForUser(testUser.getId());
+    }
+
+    @Test
+    void revokeAccessTokens_BlacklistsDistinctIdsForAccessTokenLifetime() {
+        when(jwtProperties.getAccessTokenExpiration()).thenReturn(900_000L);
+
+        int revoked = authService.revokeAccessTokens(List.of("jti-1", "jti-2", "jti-1"), testUser.getId());
+
+        assertThat(revoked).isEqualTo(2);
+        verify(tokenBlacklistService).blacklistAll(Set.of("jti-1", "jti-2"), 900L);
+    }
+
+    private static Authentication authenticated(User user) {
+        AuthenticatedUser principal = AuthenticatedUser.of(user);
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
     }
 }
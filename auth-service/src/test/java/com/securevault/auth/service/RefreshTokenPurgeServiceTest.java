@@ -0,0 +1,55 @@
+package com.securevault.auth.service;
+
+import com.securevault.auth.config.RefreshTokenProperties;
+import com.securevault.auth.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenPurgeServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenPurgeService purgeService;
+
+    @BeforeEach
+    void setUp() {
+        RefreshTokenProperties properties = new RefreshTokenProperties();
+        properties.setPurgeBatchSize(100);
+        purgeService = new RefreshTokenPurgeService(refreshTokenRepository, properties);
+    }
+
+    @Test
+    void purge_RunsBatchesUntilOneIsNotFull() {
+        when(refreshTokenRepository.purgeBatch(any(), eq(100))).thenReturn(100, 100, 42);
+
+        assertThat(purgeService.purge()).isEqualTo(242);
+        verify(refreshTokenRepository, times(3)).purgeBatch(any(), eq(100));
+    }
+
+    @Test
+    void purge_OnlyDeletesTokensThatHaveExpired() {
+        when(refreshTokenRepository.purgeBatch(any(), eq(100))).thenReturn(0);
+        LocalDateTime before = LocalDateTime.now();
+
+        purgeService.purge();
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(refreshTokenRepository).purgeBatch(now.capture(), eq(100));
+        assertThat(now.getValue()).isBetween(before, LocalDateTime.now());
+    }
+}
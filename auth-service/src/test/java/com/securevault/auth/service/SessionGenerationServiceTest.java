@@ -0,0 +1,59 @@
+package com.securevault.auth.service;
+
+import com.securevault.auth.config.JwtProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionGenerationServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private SessionGenerationService sessionGenerationService;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setAccessTokenExpiration(900000L);
+        sessionGenerationService = new SessionGenerationService(redisTemplate, jwtProperties);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void publish_StoresGenerationForAccessTokenLifetime() {
+        sessionGenerationService.publish(userId, 4L);
+
+        verify(valueOperations).set("session-gen:" + userId, "4", 900000L, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void isRevoked_OlderGeneration_ReturnsTrue() {
+        when(valueOperations.get("session-gen:" + userId)).thenReturn("4");
+
+        assertThat(sessionGenerationService.isRevoked(userId, 3L)).isTrue();
+        assertThat(sessionGenerationService.isRevoked(userId, 4L)).isFalse();
+    }
+
+    @Test
+    void isRevoked_NoBump_ReturnsFalse() {
+        when(valueOperations.get("session-gen:" + userId)).thenReturn(null);
+
+        assertThat(sessionGenerationService.isRevoked(userId, 0L)).isFalse();
+    }
+}
@@ -1,16 +1,27 @@
 package com.securevault.auth.service;
 
+import com.securevault.auth.config.TokenBlacklistProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -23,10 +34,11 @@ class TokenBlacklistServiceTest {
     private ValueOperations<String, String> valueOperations;
 
     private TokenBlacklistService tokenBlacklistService;
+    private final Instant expiresAt = Instant.now().plusSeconds(300);
 
     @BeforeEach
     void setUp() {
-        tokenBlacklistService = new TokenBlacklistService(redisTemplate);
+        tokenBlacklistService = new TokenBlacklistService(redisTemplate, new TokenBlacklistProperties());
     }
 
     @Test
@@ -36,19 +48,57 @@ class TokenBlacklistServiceTest {
         tokenBlacklistService.blacklist("jti-123", 300L);
 
         verify(valueOperations).set("blacklist:jti-123", "revoked", 300L, TimeUnit.SECONDS);
+        verify(redisTemplate).convertAndSend(eq(TokenBlacklistService.CHANNEL), anyString());
+    }
+
+    @Test
+    void blacklist_IsAnsweredLocallyAfterwards() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        tokenBlacklistService.blacklist("jti-123", 300L);
+
+        assertThat(tokenBlacklistService.isBlacklisted("jti-123", expiresAt)).isTrue();
+        verify(redisTemplate, never()).hasKey(anyString());
     }
 
     @Test
     void isBlacklisted_TokenExists_ReturnsTrue() {
         when(redisTemplate.hasKey("blacklist:jti-123")).thenReturn(true);
 
-        assertThat(tokenBlacklistService.isBlacklisted("jti-123")).isTrue();
+        assertThat(tokenBlacklistService.isBlacklisted("jti-123", expiresAt)).isTrue();
+        assertThat(tokenBlacklistService.isBlacklisted("jti-123", expiresAt)).isTrue();
+        verify(redisTemplate, times(1)).hasKey("blacklist:jti-123");
     }
 
     @Test
     void isBlacklisted_TokenNotExists_ReturnsFalse() {
         when(redisTemplate.hasKey("blacklist:jti-456")).thenReturn(false);
 
-        assertThat(tokenBlacklistService.isBlacklisted("jti-456")).isFalse();
+        assertThat(tokenBlacklistService.isBlacklisted("jti-456", expiresAt)).isFalse();
+        // Reused within the negative-cache TTL
+        assertThat(tokenBlacklistService.isBlacklisted("jti-456", expiresAt)).isFalse();
+        verify(redisTemplate, times(1)).hasKey("blacklist:jti-456");
+    }
+
+    @Test
+    void publishedRevocation_OverridesNegativeCache() {
+        when(redisTemplate.hasKey("blacklist:jti-789")).thenReturn(false);
+        assertThat(tokenBlacklistService.isBlacklisted("jti-789", expiresAt)).isFalse();
+
+        String body = "jti-789 " + expiresAt.toEpochMilli();
+        tokenBlacklistService.onMessage(new DefaultMessage(TokenBlacklistService.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(tokenBlacklistService.isBlacklisted("jti-789", expiresAt)).isTrue();
+        verify(redisTemplate, times(1)).hasKey("blacklist:jti-789");
+    }
+
+    @Test
+    void blacklistAll_UsesOnePipeline() {
+        tokenBlacklistService.blacklistAll(List.of("a", "b", "c"), 300L);
+
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+        assertThat(tokenBlacklistService.isBlacklisted("b", expiresAt)).isTrue();
+        verify(redisTemplate, never()).hasKey(anyString());
     }
 }
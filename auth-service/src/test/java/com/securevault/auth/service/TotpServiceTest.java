@@ -0,0 +1,85 @@
+package com.securevault.auth.service;
+
+import com.securevault.auth.client.AuditClient;
+import com.securevault.auth.repository.UserRepository;
+import com.securevault.auth.util.Base32;
+import com.securevault.auth.util.Totp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TotpServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private AuditClient auditClient;
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private TotpService totpService;
+    private final UUID userId = UUID.randomUUID();
+    private String secret;
+
+    @BeforeEach
+    void setUp() {
+        totpService = new TotpService(userRepository, auditClient, redisTemplate);
+        secret = totpService.generateSecret();
+    }
+
+    @Test
+    void generateSecret_Is160BitBase32() {
+        assertThat(secret).hasSize(32).matches("[A-Z2-7]+");
+        assertThat(Base32.decode(secret)).hasSize(20);
+    }
+
+    @Test
+    void verifyCode_CurrentCode_ClaimsItsStep() {
+        when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), eq(List.of("totp-step:" + userId)),
+                anyString(), anyString()))
+                .thenReturn(1L);
+
+        assertThat(totpService.verifyCode(userId, secret, currentCode())).isTrue();
+    }
+
+    @Test
+    void verifyCode_ReplayedCode_IsRejected() {
+        when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), eq(List.of("totp-step:" + userId)),
+                anyString(), anyString()))
+                .thenReturn(0L);
+
+        assertThat(totpService.verifyCode(userId, secret, currentCode())).isFalse();
+    }
+
+    @Test
+    void verifyCode_WrongCode_NeverTouchesRedis() {
+        String wrong = String.format("%06d", (Integer.parseInt(currentCode()) + 1) % 1_000_000);
+
+        assertThat(totpService.verifyCode(userId, secret, wrong)).isFalse();
+        verify(redisTemplate, never()).execute(ArgumentMatchers.<RedisScript<Long>>any(), anyList(), any(Object[].class));
+    }
+
+    private String currentCode() {
+        long step = Totp.timeStep(Instant.now().getEpochSecond());
+        return String.format("%06d", Totp.generate(Base32.decode(secret), step));
+    }
+}
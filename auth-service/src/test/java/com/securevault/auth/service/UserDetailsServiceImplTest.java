@@ -0,0 +1,134 @@
+package com.securevault.auth.service;
+
+import com.securevault.auth.config.PrincipalProperties;
+import com.securevault.auth.entity.User;
+import com.securevault.auth.model.AuthenticatedUser;
+import com.securevault.auth.model.Role;
+import com.securevault.auth.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsServiceImplTest {
+
+    // Cheap parameters keep the test fast; only their relative strength matters
+    private final Argon2PasswordEncoder weakEncoder = new Argon2PasswordEncoder(16, 32, 1, 1024, 1);
+    private final Argon2PasswordEncoder currentEncoder = new Argon2PasswordEncoder(16, 32, 1, 2048, 2);
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final PrincipalProperties principalProperties = new PrincipalProperties();
+    private UserDetailsServiceImpl userDetailsService;
+    private DaoAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = new UserDetailsServiceImpl(userRepository, principalProperties);
+        provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(currentEncoder);
+        provider.setUserDetailsPasswordService(userDetailsService);
+    }
+
+    @Test
+    void updatePassword_StoresNewHash() {
+        User user = user(weakEncoder.encode("password123"));
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        UserDetails updated = userDetailsService.updatePassword(
+                userDetailsService.loadUserByUsername("test@example.com"), "new-hash");
+
+        assertThat(user.getPasswordHash()).isEqualTo("new-hash");
+        assertThat(updated.getPassword()).isEqualTo("new-hash");
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    void authenticate_WeakerStoredHash_IsRehashedWithCurrentParameters() {
+        User user = user(weakEncoder.encode("password123"));
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("test@example.com", "password123"));
+
+        assertThat(user.getPasswordHash()).contains("m=2048,t=2");
+        assertThat(currentEncoder.upgradeEncoding(user.getPasswordHash())).isFalse();
+        assertThat(currentEncoder.matches("password123", user.getPasswordHash())).isTrue();
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    void authenticate_CurrentHash_IsNotRewritten() {
+        String hash = currentEncoder.encode("password123");
+        User user = user(hash);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("test@example.com", "password123"));
+
+        assertThat(user.getPasswordHash()).isEqualTo(hash);
+        verify(userRepository, never()).save(user);
+    }
+
+    @Test
+    void authenticate_PrincipalCarriesLoadedEntity() {
+        User user = user(currentEncoder.encode("password123"));
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        Authentication result = provider.authenticate(
+                new UsernamePasswordAuthenticationToken("test@example.com", "password123"));
+
+        assertThat(((AuthenticatedUser) result.getPrincipal()).getUser()).isSameAs(user);
+    }
+
+    @Test
+    void loadUserById_WithinTtl_HitsDatabaseOnce() {
+        User user = user("hash");
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        AuthenticatedUser first = userDetailsService.loadUserById(user.getId());
+        AuthenticatedUser second = userDetailsService.loadUserById(user.getId());
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getPassword()).isNull();
+        assertThat(first.getUser()).isNull();
+        verify(userRepository, times(1)).findById(user.getId());
+    }
+
+    @Test
+    void loadUserById_CacheDisabled_AlwaysLoads() {
+        principalProperties.setUserCacheTtl(Duration.ZERO);
+        User user = user("hash");
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        userDetailsService.loadUserById(user.getId());
+        userDetailsService.loadUserById(user.getId());
+
+        verify(userRepository, times(2)).findById(user.getId());
+    }
+
+    private static User user(String passwordHash) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .email("test@example.com")
+                .passwordHash(passwordHash)
+                .role(Role.USER)
+                .build();
+    }
+}
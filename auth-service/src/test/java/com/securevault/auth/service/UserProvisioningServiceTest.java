@@ -0,0 +1,105 @@
+package com.securevault.auth.service;
+
+import com.securevault.auth.client.AuditClient;
+import com.securevault.auth.client.AuditEventRequest;
+import com.securevault.auth.config.PasswordHashingProperties;
+import com.securevault.auth.config.ProvisioningProperties;
+import com.securevault.auth.dto.BulkRegisterResponse;
+import com.securevault.auth.dto.RegisterRequest;
+import com.securevault.auth.entity.User;
+import com.securevault.auth.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserProvisioningServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private AuditClient auditClient;
+
+    private UserProvisioningService provisioningService;
+    private final UUID adminId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ProvisioningProperties properties = new ProvisioningProperties();
+        properties.setHashingParallelism(2);
+        properties.setInsertBatchSize(100);
+        properties.setAuditBatchSize(2);
+        provisioningService = new UserProvisioningService(userRepository, passwordEncoder, auditClient, properties,
+                new PasswordHashingProperties());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registerAll_HashesInsertsOnceAndAuditsInBatches() {
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hashed:" + invocation.getArgument(0));
+        when(userRepository.insertIgnoringExisting(anyList(), eq(100)))
+                .thenReturn(Set.of("a@securevault.com", "b@securevault.com", "c@securevault.com"));
+
+        BulkRegisterResponse response = provisioningService.registerAll(List.of(
+                request("a@securevault.com"), request("b@securevault.com"), request("c@securevault.com")), adminId);
+
+        assertThat(response.getRequested()).isEqualTo(3);
+        assertThat(response.getCreated()).isEqualTo(3);
+        assertThat(response.getSkippedEmails()).isEmpty();
+
+        ArgumentCaptor<List<User>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).insertIgnoringExisting(inserted.capture(), eq(100));
+        assertThat(inserted.getValue()).extracting(User::getPasswordHash)
+                .containsExactly("hashed:password-a@securevault.com", "hashed:password-b@securevault.com",
+                        "hashed:password-c@securevault.com");
+        assertThat(inserted.getValue()).allSatisfy(user -> assertThat(user.getId()).isNotNull());
+
+        ArgumentCaptor<List<AuditEventRequest>> events = ArgumentCaptor.forClass(List.class);
+        verify(auditClient, times(2)).sendEvents(events.capture());
+        assertThat(events.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        verify(userRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void registerAll_ReportsExistingAndRepeatedEmails() {
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        when(userRepository.insertIgnoringExisting(anyList(), anyInt())).thenReturn(Set.of("new@securevault.com"));
+
+        BulkRegisterResponse response = provisioningService.registerAll(List.of(
+                request("new@securevault.com"), request("existing@securevault.com"), request("new@securevault.com")),
+                adminId);
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getSkippedEmails()).containsExactlyInAnyOrder("new@securevault.com", "existing@securevault.com");
+        verify(passwordEncoder, times(2)).encode(anyString());
+    }
+
+    private static RegisterRequest request(String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail(email);
+        request.setPassword("password-" + email);
+        request.setFirstName("Test");
+        request.setLastName("User");
+        return request;
+    }
+}
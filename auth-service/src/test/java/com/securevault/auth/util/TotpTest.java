@@ -0,0 +1,48 @@
+package com.securevault.auth.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TotpTest {
+
+    // RFC 6238 appendix B, SHA1 seed, truncated to 6 digits
+    private static final byte[] RFC_KEY = "12345678901234567890".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void generate_MatchesRfc6238Vectors() {
+        assertThat(Totp.generate(RFC_KEY, Totp.timeStep(59))).isEqualTo(287082);
+        assertThat(Totp.generate(RFC_KEY, Totp.timeStep(1111111109))).isEqualTo(81804);
+        assertThat(Totp.generate(RFC_KEY, Totp.timeStep(1234567890))).isEqualTo(5924);
+        assertThat(Totp.generate(RFC_KEY, Totp.timeStep(2000000000))).isEqualTo(279037);
+    }
+
+    @Test
+    void matchingStep_AcceptsWindowAndRejectsOutside() {
+        long step = Totp.timeStep(1111111109);
+
+        assertThat(Totp.matchingStep(RFC_KEY, "081804", step, 1)).isEqualTo(step);
+        assertThat(Totp.matchingStep(RFC_KEY, "081804", step + 1, 1)).isEqualTo(step);
+        assertThat(Totp.matchingStep(RFC_KEY, "081804", step + 2, 1)).isEqualTo(-1);
+    }
+
+    @Test
+    void matchingStep_RejectsMalformedCodes() {
+        long step = Totp.timeStep(1111111109);
+
+        assertThat(Totp.matchingStep(RFC_KEY, "81804", step, 1)).isEqualTo(-1);
+        assertThat(Totp.matchingStep(RFC_KEY, "08180a", step, 1)).isEqualTo(-1);
+        assertThat(Totp.matchingStep(RFC_KEY, null, step, 1)).isEqualTo(-1);
+    }
+
+    @Test
+    void base32_RoundTrips() {
+        String encoded = Base32.encode(RFC_KEY);
+
+        assertThat(encoded).isEqualTo("GEZDGNBVGY3TQOJQGEZDGNBVGY3TQOJQ");
+        assertThat(Base32.decode(encoded)).isEqualTo(RFC_KEY);
+        assertThat(Base32.decode(encoded.toLowerCase())).isEqualTo(RFC_KEY);
+    }
+}
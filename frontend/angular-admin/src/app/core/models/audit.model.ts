@@ -3,7 +3,10 @@ export enum AuditAction {
   USER_LOGIN = 'USER_LOGIN',
   USER_LOGIN_FAILED = 'USER_LOGIN_FAILED',
   USER_LOGOUT = 'USER_LOGOUT',
+  USER_LOGOUT_ALL = 'USER_LOGOUT_ALL',
   TOKEN_REFRESHED = 'TOKEN_REFRESHED',
+  REFRESH_TOKEN_REUSED = 'REFRESH_TOKEN_REUSED',
+  ACCESS_TOKENS_REVOKED = 'ACCESS_TOKENS_REVOKED',
   TOTP_ENABLED = 'TOTP_ENABLED',
   TOTP_DISABLED = 'TOTP_DISABLED',
   TOTP_VERIFIED = 'TOTP_VERIFIED',
@@ -42,6 +45,7 @@ export interface AuditEvent {
   userAgent: string;
   status: EventStatus;
   metadata: string;
+  traceId: string | null;
   createdAt: string;
 }
 
@@ -62,6 +66,7 @@ export interface AuditFilter {
   fromDate?: string;
   toDate?: string;
   keyword?: string;
+  traceId?: string;
   page: number;
   size: number;
 }
@@ -21,6 +21,7 @@ export class AuditService {
     if (filter.fromDate) params = params.set('fromDate', filter.fromDate);
     if (filter.toDate) params = params.set('toDate', filter.toDate);
     if (filter.keyword) params = params.set('keyword', filter.keyword);
+    if (filter.traceId) params = params.set('traceId', filter.traceId);
 
     return this.http.get<PageResponse<AuditEvent>>(`${this.baseUrl}/events`, { params });
   }
@@ -0,0 +1,132 @@
+package com.securevault.gateway.filter;
+
+import com.securevault.gateway.config.JwksKeyLocator;
+import com.securevault.gateway.config.JwtProperties;
+import com.securevault.gateway.config.RateLimitProperties;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Measures the per-request overhead of RateLimitFilter -> JwtValidationFilter.
+// Run with ./gradlew jmh; the gc profiler reports bytes/op as gc.alloc.rate.norm.
+// A fresh mock request/response is created per invocation (OncePerRequestFilter marks the request),
+// so classifyOnly is the baseline for how much of the allocation comes from the harness itself.
+@State(Scope.Benchmark)
+public class GatewayFilterChainBenchmark {
+
+    private PathClassifier pathClassifier;
+    private RateLimitFilter rateLimitFilter;
+    private JwtValidationFilter jwtValidationFilter;
+    private String bearerToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setPublicKey((RSAPublicKey) keyPair.getPublic());
+
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        // High enough that the benchmark never trips the limiter
+        rateLimitProperties.setRequestsPerMinute(Integer.MAX_VALUE);
+        rateLimitProperties.setLoginRequestsPerMinute(Integer.MAX_VALUE);
+
+        pathClassifier = new PathClassifier();
+        InMemoryRedisTemplate redisTemplate = new InMemoryRedisTemplate();
+        rateLimitFilter = new RateLimitFilter(redisTemplate, rateLimitProperties, pathClassifier,
+                new SimpleMeterRegistry());
+        jwtValidationFilter = new JwtValidationFilter(new JwksKeyLocator(jwtProperties), pathClassifier,
+                new SessionGenerationValidator(redisTemplate), new SimpleMeterRegistry());
+
+        bearerToken = "Bearer " + Jwts.builder()
+                .subject(UUID.randomUUID().toString())
+                .claim("role", "USER")
+                .claim("email", "bench@securevault.com")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    @Benchmark
+    public PathCategory classifyOnly() {
+        return pathClassifier.classify(newRequest("/api/secrets"));
+    }
+
+    @Benchmark
+    public void publicPath(Blackhole blackhole) throws Exception {
+        runChain(newRequest("/api/auth/login"), blackhole);
+    }
+
+    @Benchmark
+    public void protectedPath(Blackhole blackhole) throws Exception {
+        MockHttpServletRequest request = newRequest("/api/secrets");
+        request.addHeader("Authorization", bearerToken);
+        runChain(request, blackhole);
+    }
+
+    private void runChain(MockHttpServletRequest request, Blackhole blackhole) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain downstream = (req, res) -> blackhole.consume(req);
+        FilterChain afterRateLimit = (req, res) -> jwtValidationFilter.doFilter(req, res, downstream);
+        rateLimitFilter.doFilter(request, response, afterRateLimit);
+        blackhole.consume(response.getStatus());
+    }
+
+    private static MockHttpServletRequest newRequest(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    // Stands in for Redis so the benchmark measures the filters, not the network round trip
+    private static final class InMemoryRedisTemplate extends StringRedisTemplate {
+        private final AtomicLong counter = new AtomicLong();
+        @SuppressWarnings("unchecked")
+        private final ValueOperations<String, String> valueOperations = (ValueOperations<String, String>) Proxy.newProxyInstance(
+                ValueOperations.class.getClassLoader(),
+                new Class<?>[]{ValueOperations.class},
+                (proxy, method, args) -> {
+                    if ("increment".equals(method.getName()) && args.length == 1) {
+                        return counter.incrementAndGet();
+                    }
+                    // No session generation was ever bumped
+                    if ("get".equals(method.getName()) && args.length == 1) {
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        @Override
+        public ValueOperations<String, String> opsForValue() {
+            return valueOperations;
+        }
+
+        @Override
+        public Boolean expire(String key, long timeout, TimeUnit unit) {
+            return Boolean.TRUE;
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package com.securevault.gateway;
 
+import com.securevault.gateway.config.CoalescingProperties;
+import com.securevault.gateway.config.HttpClientProperties;
 import com.securevault.gateway.config.JwtProperties;
 import com.securevault.gateway.config.RateLimitProperties;
+import com.securevault.gateway.config.WarmupProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
-@EnableConfigurationProperties({JwtProperties.class, RateLimitProperties.class})
+@EnableConfigurationProperties({JwtProperties.class, RateLimitProperties.class, HttpClientProperties.class,
+        CoalescingProperties.class, WarmupProperties.class})
 public class GatewayApplication {
 
 	public static void main(String[] args) {
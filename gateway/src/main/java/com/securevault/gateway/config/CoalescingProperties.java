@@ -0,0 +1,19 @@
+package com.securevault.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Single-flight coalescing of identical concurrent GETs (off unless enabled)
+@Data
+@ConfigurationProperties(prefix = "gateway.coalescing")
+public class CoalescingProperties {
+    private boolean enabled = false;
+    // Path patterns of idempotent read endpoints; reads with side effects (e.g. audited secret reads) stay out
+    private List<String> paths = new ArrayList<>();
+    // How long a duplicate waits for the in-flight response before proxying on its own
+    private Duration waitTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,28 @@
+package com.securevault.gateway.config;
+
+import org.springframework.cloud.gateway.server.mvc.config.GatewayMvcProperties;
+import org.springframework.cloud.gateway.server.mvc.config.RouteProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// HTTP client used by the gateway to proxy requests to the downstream services.
+// Replaces Boot's single shared client factory, which the gateway proxy picks up automatically.
+@Configuration
+public class HttpClientConfig {
+
+    @Bean
+    public RouteClientHttpRequestFactory routeClientHttpRequestFactory(GatewayMvcProperties gatewayProperties,
+                                                                       HttpClientProperties httpClientProperties) {
+        Map<String, URI> routes = new LinkedHashMap<>();
+        for (RouteProperties route : gatewayProperties.getRoutes()) {
+            if (route.getUri() != null) {
+                routes.put(route.getId(), route.getUri());
+            }
+        }
+        return new RouteClientHttpRequestFactory(routes, httpClientProperties);
+    }
+}
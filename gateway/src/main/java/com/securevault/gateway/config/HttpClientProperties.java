@@ -0,0 +1,32 @@
+package com.securevault.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// Proxy client settings per gateway route id; routes without an entry use the defaults below
+@Data
+@ConfigurationProperties(prefix = "gateway.http-client")
+public class HttpClientProperties {
+    private Map<String, Route> routes = new HashMap<>();
+
+    public Route forRoute(String routeId) {
+        return routes.getOrDefault(routeId, new Route());
+    }
+
+    @Data
+    public static class Route {
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration responseTimeout = Duration.ofSeconds(30);
+        private int maxConnections = 100;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+        // Shorter than the downstream Tomcat keep-alive timeout, so the gateway closes idle connections first
+        private Duration maxIdleTime = Duration.ofSeconds(60);
+        private Duration maxLifeTime = Duration.ofMinutes(10);
+        // HTTP/2 with prior knowledge; the downstream needs server.http2.enabled=true
+        private boolean h2c = false;
+    }
+}
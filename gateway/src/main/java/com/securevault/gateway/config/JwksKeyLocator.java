@@ -0,0 +1,128 @@
+package com.securevault.gateway.config;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.InvalidKeyException;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Picks the verification key for a token by its kid header. Keys come from auth-service's JWKS, held in memory
+// and refreshed in the background; an unknown kid (a freshly rotated key) triggers an early, rate-limited refresh.
+// Without a JWKS URI, or for tokens without a kid, the static jwt.public-key is used.
+@Slf4j
+@Component
+public class JwksKeyLocator extends LocatorAdapter<Key> implements DisposableBean {
+
+    private final PublicKey fallbackKey;
+    private final URI jwksUri;
+    private final Duration timeout;
+    private final long minRefreshIntervalNanos;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong lastRefresh = new AtomicLong();
+    private volatile Map<String, Key> keys = Map.of();
+
+    public JwksKeyLocator(JwtProperties jwtProperties) {
+        this.fallbackKey = jwtProperties.getPublicKey();
+        this.jwksUri = jwtProperties.getJwksUri();
+        this.timeout = jwtProperties.getJwksTimeout();
+        this.minRefreshIntervalNanos = jwtProperties.getJwksMinRefreshInterval().toNanos();
+        // Lets the first unknown kid refresh right away
+        this.lastRefresh.set(System.nanoTime() - minRefreshIntervalNanos);
+
+        if (jwksUri == null) {
+            this.httpClient = null;
+            this.scheduler = null;
+            return;
+        }
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("jwks-refresh").daemon().factory());
+        // The first load runs in the background so a slow auth-service does not hold up startup
+        scheduler.scheduleWithFixedDelay(this::refresh, 0,
+                jwtProperties.getJwksRefreshInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+        if (kid != null) {
+            Key key = keys.get(kid);
+            if (key == null && jwksUri != null) {
+                refreshForUnknownKid();
+                key = keys.get(kid);
+            }
+            if (key != null) {
+                return key;
+            }
+        }
+        if (fallbackKey == null) {
+            throw new InvalidKeyException("No verification key for the token's key id");
+        }
+        return fallbackKey;
+    }
+
+    private void refreshForUnknownKid() {
+        long now = System.nanoTime();
+        long last = lastRefresh.get();
+        // Only one caller refreshes per interval; the others go on with the current key set
+        if (now - last >= minRefreshIntervalNanos && lastRefresh.compareAndSet(last, now)) {
+            refresh();
+        }
+    }
+
+    // Keeps the previous key set when auth-service cannot be reached
+    void refresh() {
+        lastRefresh.set(System.nanoTime());
+        try {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(jwksUri).timeout(timeout).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                log.warn("JWKS refresh from {} failed with status {}", jwksUri, response.statusCode());
+                return;
+            }
+
+            JwkSet jwkSet = Jwks.setParser().ignoreUnsupported(true).build().parse(response.body());
+            Map<String, Key> loaded = new HashMap<>();
+            for (Jwk<?> jwk : jwkSet) {
+                if (jwk.getId() != null) {
+                    loaded.put(jwk.getId(), jwk.toKey());
+                }
+            }
+            keys = Map.copyOf(loaded);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("JWKS refresh from {} failed: {}", jwksUri, e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
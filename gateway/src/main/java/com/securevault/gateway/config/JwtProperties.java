@@ -3,10 +3,20 @@ package com.securevault.gateway.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
-import java.security.interfaces.RSAPublicKey;
+import java.net.URI;
+import java.security.PublicKey;
+import java.time.Duration;
 
 @Data
 @ConfigurationProperties(prefix = "jwt")
 public class JwtProperties {
-    private RSAPublicKey publicKey;
+    // Static verification key, used for tokens without a kid and whenever the JWKS has no key for a kid
+    private PublicKey publicKey;
+    // auth-service key set; when set, signing keys are picked by kid and can rotate without a gateway redeploy
+    private URI jwksUri;
+    // Background refresh of the key set
+    private Duration jwksRefreshInterval = Duration.ofMinutes(5);
+    // Minimum gap between refreshes triggered by an unknown kid, so random kids cannot flood auth-service
+    private Duration jwksMinRefreshInterval = Duration.ofSeconds(30);
+    private Duration jwksTimeout = Duration.ofSeconds(2);
 }
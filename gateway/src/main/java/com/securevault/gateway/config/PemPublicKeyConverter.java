@@ -7,16 +7,22 @@ import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
 import java.security.KeyFactory;
-import java.security.interfaces.RSAPublicKey;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
 
+// X.509 PEM public key (RSA, EC or Ed25519), inline or as a classpath:/file: location
 @Component
 @ConfigurationPropertiesBinding
-public class RsaPublicKeyConverter implements Converter<String, RSAPublicKey> {
+public class PemPublicKeyConverter implements Converter<String, PublicKey> {
+
+    private static final String[] KEY_TYPES = {"RSA", "EC", "Ed25519"};
 
     @Override
-    public RSAPublicKey convert(String source) {
+    public PublicKey convert(String source) {
+        byte[] decoded;
         try {
             String pem;
             if (source.startsWith("classpath:") || source.startsWith("file:")) {
@@ -30,11 +36,20 @@ public class RsaPublicKeyConverter implements Converter<String, RSAPublicKey> {
                     .replace("-----END PUBLIC KEY-----", "")
                     .replaceAll("\\s", "");
 
-            byte[] decoded = Base64.getDecoder().decode(pem);
-            X509EncodedKeySpec spec = new X509EncodedKeySpec(decoded);
-            return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(spec);
+            decoded = Base64.getDecoder().decode(pem);
         } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to convert PEM to RSAPublicKey", e);
+            throw new IllegalArgumentException("Failed to convert PEM to PublicKey", e);
+        }
+
+        for (String type : KEY_TYPES) {
+            try {
+                return KeyFactory.getInstance(type).generatePublic(new X509EncodedKeySpec(decoded));
+            } catch (InvalidKeySpecException e) {
+                // Not this key type, try the next one
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalArgumentException("Failed to convert PEM to PublicKey", e);
+            }
         }
+        throw new IllegalArgumentException("Unsupported public key type, expected RSA, EC or Ed25519");
     }
 }
@@ -0,0 +1,116 @@
+package com.securevault.gateway.config;
+
+import com.securevault.gateway.filter.JwtValidationFilter;
+import com.securevault.gateway.filter.RateLimitFilter;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+// Runs before readiness turns UP and repeats the request hot paths for warmup.duration, so the JIT has compiled
+// them when the first real request arrives: RSA verification of a throwaway token in-process, and loopback
+// requests carrying that token through Tomcat, the rate limiter (Redis) and the JWT filter, which rejects them
+// before anything is proxied. The rate limiter counts them in a bucket of their own and never rejects them.
+// A step is left out of the remaining rounds once it is done (false) or has failed, which is logged.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarmupRunner implements ApplicationRunner {
+
+    private final JwtValidationFilter jwtValidationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final WarmupProperties properties;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + properties.getDuration().toNanos();
+
+        // Signed with a key nobody else has, so it can never pass verification
+        String token = Jwts.builder()
+                .subject("warm-up")
+                .signWith(Jwts.SIG.RS256.keyPair().build().getPrivate(), Jwts.SIG.RS256)
+                .compact();
+
+        Map<String, BooleanSupplier> steps = new LinkedHashMap<>();
+        steps.put("JWT verification", () -> {
+            jwtValidationFilter.warmUp(token);
+            return true;
+        });
+        // Not a web application (e.g. in tests): the in-process steps still run
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port != null) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(2))
+                    .build();
+            URI uri = URI.create("http://localhost:" + port + "/api/secrets");
+            String warmupKey = rateLimitFilter.getWarmupKey();
+            steps.put("GET /api/secrets", () -> get(client, uri, token, warmupKey));
+        }
+
+        int rounds = 0;
+        do {
+            steps.entrySet().removeIf(step -> !attempt(step.getKey(), step.getValue()));
+            rounds++;
+        } while (System.nanoTime() < deadline && !steps.isEmpty());
+
+        long elapsed = System.nanoTime() - start;
+        TimeGauge.builder("application.warmup.time", () -> elapsed, TimeUnit.NANOSECONDS)
+                .description("Time spent warming up the hot paths before readiness")
+                .register(meterRegistry);
+        log.info("Warm-up finished in {} ms after {} rounds", TimeUnit.NANOSECONDS.toMillis(elapsed), rounds);
+    }
+
+    private static boolean get(HttpClient client, URI uri, String token, String warmupKey) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(5))
+                .header("Authorization", "Bearer " + token)
+                .header(RateLimitFilter.WARMUP_HEADER, warmupKey)
+                .GET()
+                .build();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status != 401) {
+                throw new IllegalStateException("status " + status);
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted", e);
+        }
+    }
+
+    private static boolean attempt(String name, BooleanSupplier step) {
+        try {
+            return step.getAsBoolean();
+        } catch (RuntimeException e) {
+            log.warn("Warm-up step {} failed, skipping it: {}", name, e.getMessage());
+            return false;
+        }
+    }
+}
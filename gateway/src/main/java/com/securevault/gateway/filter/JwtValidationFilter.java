@@ -1,47 +1,60 @@
 package com.securevault.gateway.filter;
 
-import com.securevault.gateway.config.JwtProperties;
+import com.securevault.gateway.config.JwksKeyLocator;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 // This filter checks for the presence of a valid JWT in the Authorization header for protected endpoints.
 @Component
 @Order(2)
-@RequiredArgsConstructor
 public class JwtValidationFilter extends OncePerRequestFilter {
 
-    private final JwtProperties jwtProperties;
-
-    private static final List<String> PUBLIC_PATHS = List.of(
-            "/api/auth/login",
-            "/api/auth/register",
-            "/api/auth/refresh",
-            "/api/auth/2fa/verify-login",
-            "/actuator"
-    );
+    static final String USER_ID_HEADER = "X-User-Id";
+    static final String USER_ROLE_HEADER = "X-User-Role";
+
+    private final PathClassifier pathClassifier;
+    private final SessionGenerationValidator sessionGenerationValidator;
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
+    // JwtParser is immutable and thread-safe, so it is built once instead of per request
+    private final JwtParser jwtParser;
+
+    public JwtValidationFilter(JwksKeyLocator keyLocator, PathClassifier pathClassifier,
+                               SessionGenerationValidator sessionGenerationValidator, MeterRegistry meterRegistry) {
+        this.pathClassifier = pathClassifier;
+        this.sessionGenerationValidator = sessionGenerationValidator;
+        this.validTokenTimer = verificationTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = verificationTimer(meterRegistry, "invalid");
+        // The key is chosen per token by its kid, so key rotation needs no new parser
+        this.jwtParser = Jwts.parser()
+                .keyLocator(keyLocator)
+                .build();
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        String path = request.getRequestURI();
-
-        if (isPublicPath(path)) {
+        if (pathClassifier.classify(request).isPublic()) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -55,28 +68,47 @@ public class JwtValidationFilter extends OncePerRequestFilter {
 
         // Token extraction and validation
         String token = authHeader.substring(7);
+        long verifyStart = System.nanoTime();
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(jwtProperties.getPublicKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            validTokenTimer.record(System.nanoTime() - verifyStart, TimeUnit.NANOSECONDS);
 
             String userId = claims.getSubject();
             String role = claims.get("role", String.class);
 
+            if (sessionGenerationValidator.isRevoked(userId, claims)) {
+                sendError(response, HttpServletResponse.SC_UNAUTHORIZED,
+                        "Invalid or expired token");
+                return;
+            }
+
             // Extend the request with user information for downstream services
-            HttpServletRequest wrappedRequest = wrapRequestWithUserHeaders(request, userId, role);
-            filterChain.doFilter(wrappedRequest, response);
+            filterChain.doFilter(new UserHeadersRequestWrapper(request, userId, role), response);
 
         } catch (JwtException | IllegalArgumentException e) {
+            invalidTokenTimer.record(System.nanoTime() - verifyStart, TimeUnit.NANOSECONDS);
             sendError(response, HttpServletResponse.SC_UNAUTHORIZED,
                     "Invalid or expired token");
         }
     }
 
-    private boolean isPublicPath(String path) {
-        return PUBLIC_PATHS.stream().anyMatch(path::startsWith);
+    // Verifies a throwaway kidless token (see WarmupRunner) against the configured key, so the parser, JSON and
+    // RSA signature code is loaded and compiled before the first real request. Nothing is recorded.
+    public void warmUp(String token) {
+        try {
+            jwtParser.parseSignedClaims(token);
+        } catch (JwtException | IllegalArgumentException expected) {
+            // the signature never matches
+        }
+    }
+
+    // Signature check and claim parsing only; the session-generation lookup is not included
+    private static Timer verificationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("gateway.jwt.verification")
+                .description("JWT signature verification and claim parsing")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     private void sendError(HttpServletResponse response, int status, String message)
@@ -86,34 +118,51 @@ public class JwtValidationFilter extends OncePerRequestFilter {
         response.getWriter().write("{\"message\": \"" + message + "\"}");
     }
 
-    private HttpServletRequest wrapRequestWithUserHeaders(HttpServletRequest request,
-                                                          String userId,
-                                                          String role) {
-        return new HttpServletRequestWrapper(request) {
-            @Override
-            public String getHeader(String name) {
-                if ("X-User-Id".equalsIgnoreCase(name)) return userId;
-                if ("X-User-Role".equalsIgnoreCase(name)) return role;
-                return super.getHeader(name);
-            }
+    // Overrides the user headers with the verified JWT claims, so clients cannot inject their own
+    private static final class UserHeadersRequestWrapper extends HttpServletRequestWrapper {
+        private final String userId;
+        private final String role;
+        private List<String> headerNames;
 
-            @Override
-            public Enumeration<String> getHeaders(String name) {
-                if ("X-User-Id".equalsIgnoreCase(name))
-                    return Collections.enumeration(List.of(userId));
-                if ("X-User-Role".equalsIgnoreCase(name))
-                    return Collections.enumeration(List.of(role));
-                return super.getHeaders(name);
-            }
+        UserHeadersRequestWrapper(HttpServletRequest request, String userId, String role) {
+            super(request);
+            this.userId = userId;
+            this.role = role;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (USER_ID_HEADER.equalsIgnoreCase(name)) return userId;
+            if (USER_ROLE_HEADER.equalsIgnoreCase(name)) return role;
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (USER_ID_HEADER.equalsIgnoreCase(name))
+                return Collections.enumeration(Collections.singletonList(userId));
+            if (USER_ROLE_HEADER.equalsIgnoreCase(name))
+                return Collections.enumeration(Collections.singletonList(role));
+            return super.getHeaders(name);
+        }
 
-            @Override
-            public Enumeration<String> getHeaderNames() {
-                List<String> names = new java.util.ArrayList<>(
-                        Collections.list(super.getHeaderNames()));
-                if (!names.contains("X-User-Id")) names.add("X-User-Id");
-                if (!names.contains("X-User-Role")) names.add("X-User-Role");
-                return Collections.enumeration(names);
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            // Built lazily and only once: most requests never enumerate the header names
+            if (headerNames == null) {
+                List<String> names = new ArrayList<>();
+                Enumeration<String> original = super.getHeaderNames();
+                while (original != null && original.hasMoreElements()) {
+                    String name = original.nextElement();
+                    if (!USER_ID_HEADER.equalsIgnoreCase(name) && !USER_ROLE_HEADER.equalsIgnoreCase(name)) {
+                        names.add(name);
+                    }
+                }
+                names.add(USER_ID_HEADER);
+                names.add(USER_ROLE_HEADER);
+                headerNames = names;
             }
-        };
+            return Collections.enumeration(headerNames);
+        }
     }
 }
@@ -0,0 +1,27 @@
+package com.securevault.gateway.filter;
+
+// Classification of a request path, computed once per request by PathClassifier
+public enum PathCategory {
+    // Login endpoints: public, but with the stricter login rate limit
+    LOGIN(true, true),
+    // Public endpoints: no JWT required
+    PUBLIC(true, false),
+    // Everything else requires a valid JWT
+    PROTECTED(false, false);
+
+    private final boolean publicPath;
+    private final boolean loginPath;
+
+    PathCategory(boolean publicPath, boolean loginPath) {
+        this.publicPath = publicPath;
+        this.loginPath = loginPath;
+    }
+
+    public boolean isPublic() {
+        return publicPath;
+    }
+
+    public boolean isLogin() {
+        return loginPath;
+    }
+}
@@ -0,0 +1,95 @@
+package com.securevault.gateway.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+
+// Classifies request paths against the public/login prefixes with a precompiled prefix trie.
+// The result is cached as a request attribute so every filter in the chain shares one lookup.
+@Component
+public class PathClassifier {
+
+    public static final String CATEGORY_ATTRIBUTE = PathClassifier.class.getName() + ".category";
+
+    // Longest matching prefix wins, so login paths nested below a public prefix keep their category
+    private static final Map<String, PathCategory> PREFIXES = Map.of(
+            "/api/auth/login", PathCategory.LOGIN,
+            "/api/auth/2fa/verify-login", PathCategory.LOGIN,
+            "/api/auth/register", PathCategory.PUBLIC,
+            "/api/auth/refresh", PathCategory.PUBLIC,
+            "/actuator", PathCategory.PUBLIC
+    );
+
+    private final Node root = new Node();
+
+    public PathClassifier() {
+        PREFIXES.forEach(this::insert);
+    }
+
+    public PathCategory classify(HttpServletRequest request) {
+        Object cached = request.getAttribute(CATEGORY_ATTRIBUTE);
+        if (cached instanceof PathCategory category) {
+            return category;
+        }
+
+        PathCategory category = classify(request.getRequestURI());
+        request.setAttribute(CATEGORY_ATTRIBUTE, category);
+        return category;
+    }
+
+    public PathCategory classify(String path) {
+        if (path == null) {
+            return PathCategory.PROTECTED;
+        }
+
+        PathCategory match = null;
+        Node node = root;
+        for (int i = 0, length = path.length(); i < length && node != null; i++) {
+            node = node.child(path.charAt(i));
+            if (node != null && node.category != null) {
+                match = node.category;
+            }
+        }
+        return match != null ? match : PathCategory.PROTECTED;
+    }
+
+    private void insert(String prefix, PathCategory category) {
+        Node node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.childOrCreate(prefix.charAt(i));
+        }
+        node.category = category;
+    }
+
+    // Sparse trie node: the prefix set is tiny, so a linear scan over a few chars beats hashing
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private PathCategory category;
+
+        Node child(char c) {
+            char[] k = keys;
+            for (int i = 0; i < k.length; i++) {
+                if (k[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node childOrCreate(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            Node created = new Node();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = c;
+            children[children.length - 1] = created;
+            return created;
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.securevault.gateway.filter;
 
 import com.securevault.gateway.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.core.annotation.Order;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
@@ -13,29 +15,46 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.time.Instant;
-import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 @Component
 @Order(1)
-@RequiredArgsConstructor
 public class RateLimitFilter extends OncePerRequestFilter {
 
     private final StringRedisTemplate redisTemplate;
     private final RateLimitProperties rateLimitProperties;
+    private final PathClassifier pathClassifier;
+    private final Timer redisTimer;
+    private final Counter loginRejectedCounter;
+    private final Counter generalRejectedCounter;
 
     private static final String RATE_LIMIT_PREFIX = "rate-limit:";
 
-    private static final List<String> LOGIN_PATHS = List.of(
-            "/api/auth/login",
-            "/api/auth/2fa/verify-login"
-    );
+    // Marks WarmupRunner's loopback requests. The value is generated per process, so no client can send it.
+    public static final String WARMUP_HEADER = "X-Warmup";
+    private final String warmupKey = UUID.randomUUID().toString();
+
+    public RateLimitFilter(StringRedisTemplate redisTemplate, RateLimitProperties rateLimitProperties,
+                           PathClassifier pathClassifier, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.rateLimitProperties = rateLimitProperties;
+        this.pathClassifier = pathClassifier;
+        this.redisTimer = Timer.builder("gateway.ratelimit.redis")
+                .description("Redis round trips of the rate limiter per request")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.loginRejectedCounter = rejectedCounter(meterRegistry, "login");
+        this.generalRejectedCounter = rejectedCounter(meterRegistry, "general");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String clientIp = getClientIp(request);
-        String path = request.getRequestURI();
-        boolean isLoginPath = isLoginPath(path);
+        boolean isLoginPath = pathClassifier.classify(request).isLogin();
+        // Warm-up requests make the same Redis round trips, but in their own bucket that is never enforced,
+        // so they neither stop early nor use up the limit of real clients on the loopback address
+        boolean isWarmup = isWarmup(request);
 
         // Determine the appropriate rate limit based on the endpoint: Login = 10/minute, Rest = 100/minute
         int limit = isLoginPath
@@ -43,16 +62,19 @@ public class RateLimitFilter extends OncePerRequestFilter {
                 : rateLimitProperties.getRequestsPerMinute();
 
         // Redis key format: rate-limit:{type}:{clientIp}:{currentMinute}
-        long currentMinute = Instant.now().getEpochSecond() / 60;
-        String prefix = isLoginPath ? "login:" : "general:";
+        long nowSeconds = Instant.now().getEpochSecond();
+        long currentMinute = nowSeconds / 60;
+        String prefix = isWarmup ? "warmup:" : isLoginPath ? "login:" : "general:";
         String key = RATE_LIMIT_PREFIX + prefix + clientIp + ":" + currentMinute;
 
+        long redisStart = System.nanoTime();
         Long count = redisTemplate.opsForValue().increment(key);
 
         // Set expiration for the key to ensure it resets after the time window
         if (count != null && count == 1) {
             redisTemplate.expire(key, 60, TimeUnit.SECONDS);
         }
+        redisTimer.record(System.nanoTime() - redisStart, TimeUnit.NANOSECONDS);
 
         long currentCount = count != null ? count : 1;
 
@@ -62,8 +84,9 @@ public class RateLimitFilter extends OncePerRequestFilter {
         response.setHeader("X-RateLimit-Remaining", String.valueOf(remaining));
         response.setHeader("X-RateLimit-Reset", String.valueOf(resetTime));
 
-        if (currentCount > limit) {
-            long retryAfter = resetTime - Instant.now().getEpochSecond();
+        if (currentCount > limit && !isWarmup) {
+            (isLoginPath ? loginRejectedCounter : generalRejectedCounter).increment();
+            long retryAfter = resetTime - nowSeconds;
             response.setHeader("Retry-After", String.valueOf(Math.max(1, retryAfter)));
             response.setStatus(429);
             response.setContentType("application/json");
@@ -75,17 +98,31 @@ public class RateLimitFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    public String getWarmupKey() {
+        return warmupKey;
+    }
+
+    private boolean isWarmup(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        return warmupKey.equals(request.getHeader(WARMUP_HEADER))
+                && ("127.0.0.1".equals(remoteAddr) || "0:0:0:0:0:0:0:1".equals(remoteAddr));
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("gateway.ratelimit.rejected")
+                .description("Requests answered with 429")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
     private String getClientIp(HttpServletRequest request) {
         // X-Forwarded-For Header validation (if behind a proxy/load balancer)
         String forwarded = request.getHeader("X-Forwarded-For");
         if (forwarded != null && !forwarded.isEmpty()) {
             // First IP in the list is the original client IP
-            return forwarded.split(",")[0].trim();
+            int comma = forwarded.indexOf(',');
+            return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
         }
         return request.getRemoteAddr();
     }
-
-    private boolean isLoginPath(String path) {
-        return LOGIN_PATHS.stream().anyMatch(path::startsWith);
-    }
 }
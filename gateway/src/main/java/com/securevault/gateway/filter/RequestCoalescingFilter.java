@@ -0,0 +1,220 @@
+package com.securevault.gateway.filter;
+
+import com.securevault.gateway.config.CoalescingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Single-flight for identical concurrent GETs: the first request is proxied, duplicates that arrive while it is
+// in flight wait for it and get a copy of its response. Runs after JwtValidationFilter, so the user id in the key
+// always comes from a verified token and responses are never shared across users.
+@Component
+@Order(3)
+@ConditionalOnProperty(prefix = "gateway.coalescing", name = "enabled", havingValue = "true")
+public class RequestCoalescingFilter extends OncePerRequestFilter {
+
+    private final PathClassifier pathClassifier;
+    private final List<PathPattern> patterns;
+    private final long waitTimeoutMillis;
+    private final Counter coalescedCounter;
+    private final Map<Key, CompletableFuture<CapturedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescingFilter(CoalescingProperties properties, PathClassifier pathClassifier,
+                                   MeterRegistry meterRegistry) {
+        this.pathClassifier = pathClassifier;
+        this.patterns = properties.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        this.waitTimeoutMillis = properties.getWaitTimeout().toMillis();
+        this.coalescedCounter = Counter.builder("gateway.requests.coalesced")
+                .description("GET requests answered from an identical in-flight request")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        return patterns.stream().noneMatch(pattern -> pattern.matches(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        // Public paths skip token validation, so their X-User-Id could be client-supplied
+        String userId = request.getHeader(JwtValidationFilter.USER_ID_HEADER);
+        if (userId == null || pathClassifier.classify(request).isPublic()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Key key = Key.of(request, userId);
+        CompletableFuture<CapturedResponse> flight = new CompletableFuture<>();
+        CompletableFuture<CapturedResponse> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            follow(existing, request, response, filterChain);
+        } else {
+            lead(key, flight, request, response, filterChain);
+        }
+    }
+
+    private void lead(Key key, CompletableFuture<CapturedResponse> flight, HttpServletRequest request,
+                      HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        DownstreamHeaders downstream = new DownstreamHeaders(response);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(downstream);
+        try {
+            filterChain.doFilter(request, wrapper);
+            // Removed before completing, so a request arriving afterwards starts a fresh flight
+            inFlight.remove(key, flight);
+            flight.complete(CapturedResponse.from(wrapper, downstream.headers));
+        } finally {
+            if (!flight.isDone()) {
+                // The leader failed: followers proxy on their own instead of sharing the failure
+                inFlight.remove(key, flight);
+                flight.cancel(false);
+            }
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void follow(CompletableFuture<CapturedResponse> flight, HttpServletRequest request,
+                        HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        CapturedResponse captured;
+        try {
+            captured = flight.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            filterChain.doFilter(request, response);
+            return;
+        } catch (ExecutionException | TimeoutException | CancellationException e) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        coalescedCounter.increment();
+        captured.writeTo(response);
+    }
+
+    // Everything the proxied response can depend on; identity comes from the headers set by JwtValidationFilter.
+    // Origin decides the CORS headers CorsFilter adds further down the chain.
+    record Key(String userId, String role, String method, String path, String query,
+               String accept, String acceptEncoding, String ifNoneMatch, String origin) {
+
+        static Key of(HttpServletRequest request, String userId) {
+            return new Key(userId,
+                    request.getHeader(JwtValidationFilter.USER_ROLE_HEADER),
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    request.getQueryString(),
+                    request.getHeader(HttpHeaders.ACCEPT),
+                    request.getHeader(HttpHeaders.ACCEPT_ENCODING),
+                    request.getHeader(HttpHeaders.IF_NONE_MATCH),
+                    request.getHeader(HttpHeaders.ORIGIN));
+        }
+    }
+
+    record CapturedResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+
+        // Only headers written downstream of this filter: the ones set before it (X-RateLimit-*) belong to the
+        // leader's own request, and each follower has already got its own
+        static CapturedResponse from(ContentCachingResponseWrapper wrapper, HttpHeaders downstreamHeaders) {
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            downstreamHeaders.forEach((name, values) -> {
+                if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)
+                        && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)
+                        && !HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(name)) {
+                    headers.put(name, List.copyOf(values));
+                }
+            });
+            return new CapturedResponse(wrapper.getStatus(), wrapper.getContentType(), headers,
+                    wrapper.getContentAsByteArray());
+        }
+
+        // setHeader replaces whatever the follower's own filters set under the same name instead of duplicating it
+        void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(status);
+            headers.forEach((name, values) -> {
+                response.setHeader(name, values.getFirst());
+                values.stream().skip(1).forEach(value -> response.addHeader(name, value));
+            });
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    // Records the headers written through it, i.e. by the filters and proxy after this one
+    private static final class DownstreamHeaders extends HttpServletResponseWrapper {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        DownstreamHeaders(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            super.setHeader(name, value);
+            headers.set(name, value);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            super.addHeader(name, value);
+            headers.add(name, value);
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            super.setIntHeader(name, value);
+            headers.set(name, Integer.toString(value));
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            super.addIntHeader(name, value);
+            headers.add(name, Integer.toString(value));
+        }
+
+        // Formatted by the container, so the value is read back from the response
+        @Override
+        public void setDateHeader(String name, long date) {
+            super.setDateHeader(name, date);
+            headers.set(name, getHeader(name));
+        }
+
+        @Override
+        public void addDateHeader(String name, long date) {
+            super.addDateHeader(name, date);
+            headers.add(name, List.copyOf(getHeaders(name)).getLast());
+        }
+    }
+}
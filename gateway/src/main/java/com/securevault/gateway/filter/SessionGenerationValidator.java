@@ -0,0 +1,28 @@
+package com.securevault.gateway.filter;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+// Rejects access tokens issued before the user's last "log out everywhere". auth-service writes the current
+// generation to session-gen:<userId> only when it is bumped, so for almost every user the check is one GET miss.
+@Component
+@RequiredArgsConstructor
+public class SessionGenerationValidator {
+
+    private static final String SESSION_GENERATION_PREFIX = "session-gen:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public boolean isRevoked(String userId, Claims claims) {
+        String current = redisTemplate.opsForValue().get(SESSION_GENERATION_PREFIX + userId);
+        if (current == null) {
+            return false;
+        }
+        // Tokens issued before session generations existed count as generation 0
+        Number generation = claims.get("gen", Number.class);
+        long tokenGeneration = generation != null ? generation.longValue() : 0L;
+        return tokenGeneration < Long.parseLong(current);
+    }
+}
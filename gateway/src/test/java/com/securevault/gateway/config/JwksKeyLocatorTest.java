@@ -0,0 +1,147 @@
+package com.securevault.gateway.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwksKeyLocatorTest {
+
+    private HttpServer server;
+    private final AtomicReference<String> jwks = new AtomicReference<>();
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final KeyPair staticKeys = generateKeyPair("EC");
+    private JwksKeyLocator locator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/.well-known/jwks.json", exchange -> {
+            fetches.incrementAndGet();
+            byte[] body = jwks.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (locator != null) {
+            locator.destroy();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void tokenSignedWithPublishedKey_IsVerified() throws Exception {
+        KeyPair edKeys = generateKeyPair("Ed25519");
+        jwks.set(jwkSet("key-1", edKeys));
+        locator = locator(Duration.ofSeconds(30));
+        awaitFetches(1);
+
+        assertThat(parser().parseSignedClaims(token("key-1", edKeys)).getPayload().getSubject()).isEqualTo("user-1");
+    }
+
+    @Test
+    void rotatedKey_IsPickedUpOnFirstUnknownKid() throws Exception {
+        jwks.set(jwkSet("key-1", generateKeyPair("EC")));
+        locator = locator(Duration.ZERO);
+        awaitFetches(1);
+
+        KeyPair rotated = generateKeyPair("Ed25519");
+        jwks.set(jwkSet("key-2", rotated));
+
+        assertThat(parser().parseSignedClaims(token("key-2", rotated)).getPayload().getSubject()).isEqualTo("user-1");
+        assertThat(fetches.get()).isEqualTo(2);
+    }
+
+    @Test
+    void unknownKids_RefreshAtMostOncePerInterval() throws Exception {
+        jwks.set(jwkSet("key-1", generateKeyPair("EC")));
+        locator = locator(Duration.ofHours(1));
+        awaitFetches(1);
+
+        KeyPair unknown = generateKeyPair("EC");
+        for (int i = 0; i < 3; i++) {
+            String token = token("random-" + i, unknown);
+            assertThatThrownBy(() -> parser().parseSignedClaims(token)).isInstanceOf(JwtException.class);
+        }
+
+        assertThat(fetches.get()).isEqualTo(1);
+    }
+
+    @Test
+    void tokenWithoutKid_UsesStaticKey() throws Exception {
+        jwks.set(jwkSet("key-1", generateKeyPair("EC")));
+        locator = locator(Duration.ofSeconds(30));
+
+        String token = Jwts.builder().subject("user-1").signWith(staticKeys.getPrivate()).compact();
+
+        assertThat(parser().parseSignedClaims(token).getPayload().getSubject()).isEqualTo("user-1");
+    }
+
+    private JwksKeyLocator locator(Duration minRefreshInterval) {
+        JwtProperties properties = new JwtProperties();
+        properties.setPublicKey(staticKeys.getPublic());
+        properties.setJwksUri(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/.well-known/jwks.json"));
+        properties.setJwksMinRefreshInterval(minRefreshInterval);
+        return new JwksKeyLocator(properties);
+    }
+
+    private JwtParser parser() {
+        return Jwts.parser().keyLocator(locator).build();
+    }
+
+    private void awaitFetches(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (fetches.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        // The fetch is counted before its response is applied
+        Thread.sleep(50);
+    }
+
+    private static String token(String kid, KeyPair keyPair) {
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .subject("user-1")
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    private static String jwkSet(String kid, KeyPair keyPair) {
+        return "{\"keys\":[" + Jwks.json(Jwks.builder().key(keyPair.getPublic()).id(kid).build()) + "]}";
+    }
+
+    private static KeyPair generateKeyPair(String type) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(type);
+            if ("EC".equals(type)) {
+                generator.initialize(256);
+            }
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.securevault.gateway.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteClientHttpRequestFactoryTest {
+
+    private HttpServer server;
+    private RouteClientHttpRequestFactory factory;
+    private final Set<InetSocketAddress> clientAddresses = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            clientAddresses.add(exchange.getRemoteAddress());
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        HttpClientProperties properties = new HttpClientProperties();
+        HttpClientProperties.Route vault = new HttpClientProperties.Route();
+        vault.setResponseTimeout(Duration.ofSeconds(5));
+        // A single pooled connection makes reuse deterministic: later requests wait for its release
+        vault.setMaxConnections(1);
+        properties.getRoutes().put("vault-service", vault);
+
+        factory = new RouteClientHttpRequestFactory(Map.of(
+                "vault-service", URI.create("http://127.0.0.1:" + server.getAddress().getPort()),
+                "auth-service", URI.create("http://auth-service:8081")
+        ), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        factory.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void requestsAreDispatchedByTargetAuthority() {
+        assertThat(factory.routeIdFor(URI.create("http://auth-service:8081/api/auth/login")))
+                .isEqualTo("auth-service");
+        assertThat(factory.routeIdFor(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/api/secrets")))
+                .isEqualTo("vault-service");
+    }
+
+    @Test
+    void unknownHost_UsesDefaultRoute() {
+        assertThat(factory.routeIdFor(URI.create("http://elsewhere:9000/")))
+                .isEqualTo(RouteClientHttpRequestFactory.DEFAULT_ROUTE);
+    }
+
+    @Test
+    void requests_ReusePooledKeepAliveConnection() throws Exception {
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/api/secrets");
+
+        for (int i = 0; i < 5; i++) {
+            try (ClientHttpResponse response = factory.createRequest(uri, HttpMethod.GET).execute()) {
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(response.getBody().readAllBytes()).asString(StandardCharsets.UTF_8).isEqualTo("ok");
+            }
+        }
+
+        assertThat(clientAddresses).hasSize(1);
+    }
+}
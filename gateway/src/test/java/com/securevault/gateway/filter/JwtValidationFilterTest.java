@@ -1,6 +1,8 @@
 package com.securevault.gateway.filter;
 
+import com.securevault.gateway.config.JwksKeyLocator;
 import com.securevault.gateway.config.JwtProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
@@ -37,6 +39,7 @@ class JwtValidationFilterTest {
     private static RSAPublicKey publicKey;
 
     private JwtValidationFilter filter;
+    private SessionGenerationValidator sessionGenerationValidator;
     private HttpServletRequest request;
     private HttpServletResponse response;
     private FilterChain filterChain;
@@ -53,7 +56,9 @@ class JwtValidationFilterTest {
         JwtProperties props = new JwtProperties();
         props.setPublicKey(publicKey);
 
-        filter = new JwtValidationFilter(props);
+        sessionGenerationValidator = mock(SessionGenerationValidator.class);
+        filter = new JwtValidationFilter(new JwksKeyLocator(props), new PathClassifier(), sessionGenerationValidator,
+                new SimpleMeterRegistry());
 
         request = mock(HttpServletRequest.class);
         response = mock(HttpServletResponse.class);
@@ -156,6 +161,19 @@ class JwtValidationFilterTest {
         }), eq(response));
     }
 
+    @Test
+    void tokenFromRevokedSessionGeneration_Returns401() throws Exception {
+        String token = createValidToken();
+        when(request.getRequestURI()).thenReturn("/api/secrets");
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(sessionGenerationValidator.isRevoked(any(), any())).thenReturn(true);
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        verify(response).setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
     // --- Helper methods ---
 
     private String createValidToken() {
@@ -0,0 +1,62 @@
+package com.securevault.gateway.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PathClassifierTest {
+
+    private final PathClassifier classifier = new PathClassifier();
+
+    @Test
+    void loginPaths_AreLogin() {
+        assertThat(classifier.classify("/api/auth/login")).isEqualTo(PathCategory.LOGIN);
+        assertThat(classifier.classify("/api/auth/2fa/verify-login")).isEqualTo(PathCategory.LOGIN);
+    }
+
+    @Test
+    void publicPaths_ArePublic() {
+        assertThat(classifier.classify("/api/auth/register")).isEqualTo(PathCategory.PUBLIC);
+        assertThat(classifier.classify("/api/auth/refresh")).isEqualTo(PathCategory.PUBLIC);
+        assertThat(classifier.classify("/actuator/health")).isEqualTo(PathCategory.PUBLIC);
+    }
+
+    @Test
+    void otherPaths_AreProtected() {
+        assertThat(classifier.classify("/api/secrets")).isEqualTo(PathCategory.PROTECTED);
+        assertThat(classifier.classify("/api/auth/logout")).isEqualTo(PathCategory.PROTECTED);
+        assertThat(classifier.classify("/api/auth/2fa/setup")).isEqualTo(PathCategory.PROTECTED);
+        assertThat(classifier.classify("/")).isEqualTo(PathCategory.PROTECTED);
+        assertThat(classifier.classify("")).isEqualTo(PathCategory.PROTECTED);
+        assertThat(classifier.classify((String) null)).isEqualTo(PathCategory.PROTECTED);
+    }
+
+    @Test
+    void prefixMatch_KeepsStartsWithSemantics() {
+        assertThat(classifier.classify("/api/auth/login/")).isEqualTo(PathCategory.LOGIN);
+        assertThat(classifier.classify("/api/auth/log")).isEqualTo(PathCategory.PROTECTED);
+    }
+
+    @Test
+    void classifiedRequest_IsCachedAsAttribute() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getAttribute(PathClassifier.CATEGORY_ATTRIBUTE)).thenReturn(PathCategory.LOGIN);
+
+        assertThat(classifier.classify(request)).isEqualTo(PathCategory.LOGIN);
+        verify(request, never()).getRequestURI();
+    }
+
+    @Test
+    void unclassifiedRequest_StoresAttribute() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRequestURI()).thenReturn("/api/secrets");
+
+        assertThat(classifier.classify(request)).isEqualTo(PathCategory.PROTECTED);
+        verify(request).setAttribute(PathClassifier.CATEGORY_ATTRIBUTE, PathCategory.PROTECTED);
+    }
+}
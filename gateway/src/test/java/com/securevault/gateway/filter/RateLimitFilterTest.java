@@ -1,6 +1,7 @@
 package com.securevault.gateway.filter;
 
 import com.securevault.gateway.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -35,13 +36,15 @@ class RateLimitFilterTest {
 
     private RateLimitFilter rateLimitFilter;
     private RateLimitProperties rateLimitProperties;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
         rateLimitProperties = new RateLimitProperties();
         rateLimitProperties.setRequestsPerMinute(100);
         rateLimitProperties.setLoginRequestsPerMinute(10);
-        rateLimitFilter = new RateLimitFilter(redisTemplate, rateLimitProperties);
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitFilter = new RateLimitFilter(redisTemplate, rateLimitProperties, new PathClassifier(), meterRegistry);
     }
 
     @Test
@@ -72,6 +75,8 @@ class RateLimitFilterTest {
         verify(response).setStatus(429);
         verify(filterChain, never()).doFilter(any(), any());
         assertThat(writer.toString()).contains("Rate limit exceeded");
+        assertThat(meterRegistry.counter("gateway.ratelimit.rejected", "type", "general").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.timer("gateway.ratelimit.redis").count()).isEqualTo(1);
     }
 
     @Test
@@ -118,4 +123,35 @@ class RateLimitFilterTest {
         verify(redisTemplate).expire(anyString(), eq(60L), any());
         verify(filterChain).doFilter(request, response);
     }
+
+    @Test
+    void warmupRequestFromLoopback_UsesItsOwnBucketAndIsNeverRejected() throws Exception {
+        when(request.getRequestURI()).thenReturn("/api/secrets");
+        when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+        when(request.getHeader(RateLimitFilter.WARMUP_HEADER)).thenReturn(rateLimitFilter.getWarmupKey());
+        when(request.getHeader("X-Forwarded-For")).thenReturn(null);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.increment(startsWith("rate-limit:warmup:127.0.0.1:"))).thenReturn(500L);
+
+        rateLimitFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verify(response, never()).setStatus(429);
+    }
+
+    @Test
+    void warmupHeaderFromRemoteClient_IsRateLimitedAsUsual() throws Exception {
+        when(request.getRequestURI()).thenReturn("/api/secrets");
+        when(request.getRemoteAddr()).thenReturn("203.0.113.7");
+        when(request.getHeader(RateLimitFilter.WARMUP_HEADER)).thenReturn(rateLimitFilter.getWarmupKey());
+        when(request.getHeader("X-Forwarded-For")).thenReturn(null);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.increment(startsWith("rate-limit:general:203.0.113.7:"))).thenReturn(101L);
+        when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+
+        rateLimitFilter.doFilterInternal(request, response, filterChain);
+
+        verify(response).setStatus(429);
+        verify(filterChain, never()).doFilter(any(), any());
+    }
 }
@@ -0,0 +1,195 @@
+package com.securevault.gateway.filter;
+
+import com.securevault.gateway.config.CoalescingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescingFilterTest {
+
+    private RequestCoalescingFilter filter;
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicInteger downstreamCalls = new AtomicInteger();
+    private final CountDownLatch leaderEntered = new CountDownLatch(1);
+    private final CountDownLatch releaseLeader = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        CoalescingProperties properties = new CoalescingProperties();
+        properties.setEnabled(true);
+        properties.setPaths(List.of("/api/folders/**"));
+        properties.setWaitTimeout(Duration.ofSeconds(5));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestCoalescingFilter(properties, new PathClassifier(), meterRegistry);
+    }
+
+    @Test
+    void concurrentIdenticalRequests_ShareOneDownstreamCall() throws Exception {
+        CompletableFuture<MockHttpServletResponse> leader = CompletableFuture.supplyAsync(
+                () -> run(request("user-1", "/api/folders"), blockingChain()));
+        assertThat(leaderEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<MockHttpServletResponse> followerResult = new CompletableFuture<>();
+        Thread follower = Thread.ofPlatform().start(() ->
+                followerResult.complete(run(request("user-1", "/api/folders"), blockingChain())));
+        awaitWaiting(follower);
+        releaseLeader.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS).getContentAsString()).isEqualTo("folders-1");
+        MockHttpServletResponse shared = followerResult.get(5, TimeUnit.SECONDS);
+        assertThat(shared.getStatus()).isEqualTo(200);
+        assertThat(shared.getContentType()).isEqualTo("application/json");
+        assertThat(shared.getHeader("ETag")).isEqualTo("W/\"v1\"");
+        assertThat(shared.getContentAsString()).isEqualTo("folders-1");
+        assertThat(downstreamCalls.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("gateway.requests.coalesced").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void concurrentRequestsOfDifferentUsers_AreNeverShared() throws Exception {
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(
+                () -> run(request("user-1", "/api/folders"), blockingChain()));
+        assertThat(leaderEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse other = run(request("user-2", "/api/folders"), blockingChain());
+        releaseLeader.countDown();
+
+        assertThat(other.getContentAsString()).isEqualTo("folders-2");
+        assertThat(first.get(5, TimeUnit.SECONDS).getContentAsString()).isEqualTo("folders-1");
+        assertThat(downstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void follower_KeepsItsOwnUpstreamHeaders_AndGetsDownstreamOnesOnce() throws Exception {
+        // RateLimitFilter runs before the coalescer and has already set each request's own headers
+        CompletableFuture<MockHttpServletResponse> leader = CompletableFuture.supplyAsync(
+                () -> run(request("user-1", "/api/folders"), rateLimited("99"), blockingChain()));
+        assertThat(leaderEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<MockHttpServletResponse> followerResult = new CompletableFuture<>();
+        Thread follower = Thread.ofPlatform().start(() -> followerResult.complete(
+                run(request("user-1", "/api/folders"), rateLimited("98"), blockingChain())));
+        awaitWaiting(follower);
+        releaseLeader.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS).getHeaders("X-RateLimit-Remaining")).containsExactly("99");
+        MockHttpServletResponse shared = followerResult.get(5, TimeUnit.SECONDS);
+        assertThat(shared.getHeaders("X-RateLimit-Remaining")).containsExactly("98");
+        assertThat(shared.getHeaders("ETag")).containsExactly("W/\"v1\"");
+        assertThat(shared.getHeaders("Access-Control-Allow-Origin")).containsExactly("https://app.example");
+        assertThat(downstreamCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentRequestsFromDifferentOrigins_AreNeverShared() throws Exception {
+        MockHttpServletRequest first = request("user-1", "/api/folders");
+        first.addHeader("Origin", "https://app.example");
+        CompletableFuture<MockHttpServletResponse> leader = CompletableFuture.supplyAsync(
+                () -> run(first, blockingChain()));
+        assertThat(leaderEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletRequest second = request("user-1", "/api/folders");
+        second.addHeader("Origin", "https://other.example");
+        MockHttpServletResponse other = run(second, blockingChain());
+        releaseLeader.countDown();
+
+        assertThat(other.getContentAsString()).isEqualTo("folders-2");
+        assertThat(other.getHeader("Access-Control-Allow-Origin")).isEqualTo("https://other.example");
+        assertThat(leader.get(5, TimeUnit.SECONDS).getHeader("Access-Control-Allow-Origin"))
+                .isEqualTo("https://app.example");
+        assertThat(downstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void nonGetOrUnlistedPaths_AreNotFiltered() {
+        MockHttpServletRequest post = request("user-1", "/api/folders");
+        post.setMethod("POST");
+
+        assertThat(filter.shouldNotFilter(post)).isTrue();
+        assertThat(filter.shouldNotFilter(request("user-1", "/api/secrets/123"))).isTrue();
+        assertThat(filter.shouldNotFilter(request("user-1", "/api/folders/abc"))).isFalse();
+    }
+
+    @Test
+    void requestWithoutVerifiedUser_PassesThrough() throws Exception {
+        MockHttpServletRequest anonymous = new MockHttpServletRequest("GET", "/api/folders");
+        FilterChain chain = (req, res) -> downstreamCalls.incrementAndGet();
+
+        filter.doFilter(anonymous, new MockHttpServletResponse(), chain);
+
+        assertThat(downstreamCalls.get()).isEqualTo(1);
+    }
+
+    // The first call blocks until released so a second one can arrive while it is in flight
+    private FilterChain blockingChain() {
+        return (req, res) -> {
+            int call = downstreamCalls.incrementAndGet();
+            if (call == 1) {
+                leaderEntered.countDown();
+                try {
+                    releaseLeader.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            HttpServletResponse response = (HttpServletResponse) res;
+            // What CorsFilter, which runs after the coalescer, adds for an allowed origin
+            String origin = ((HttpServletRequest) req).getHeader("Origin");
+            response.addHeader("Access-Control-Allow-Origin", origin != null ? origin : "https://app.example");
+            response.setStatus(200);
+            response.setContentType("application/json");
+            response.setHeader("ETag", "W/\"v1\"");
+            response.getOutputStream().write(("folders-" + call).getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request, FilterChain chain) {
+        return run(request, new MockHttpServletResponse(), chain);
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request, MockHttpServletResponse response,
+                                        FilterChain chain) {
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+
+    private static MockHttpServletResponse rateLimited(String remaining) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setHeader("X-RateLimit-Limit", "100");
+        response.setHeader("X-RateLimit-Remaining", remaining);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String userId, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader(JwtValidationFilter.USER_ID_HEADER, userId);
+        request.addHeader(JwtValidationFilter.USER_ROLE_HEADER, "USER");
+        return request;
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.securevault.loadtest;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+import io.gatling.javaapi.http.HttpRequestActionBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.jsonPath;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+// Requests shared by the simulations. Everything goes through the gateway, like the frontend.
+final class Api {
+
+    private static final AtomicLong ACCOUNTS = new AtomicLong();
+    private static final AtomicLong CLIENTS = new AtomicLong();
+
+    private Api() {
+    }
+
+    static HttpProtocolBuilder protocol() {
+        return http.baseUrl(LoadProfile.BASE_URL)
+                .acceptHeader("application/json")
+                .contentTypeHeader("application/json")
+                // The gateway rate-limits per client address; each virtual user is a separate client
+                .header("X-Forwarded-For", "#{clientIp}");
+    }
+
+    // A new client with a new account; register() creates it
+    static ChainBuilder newClient() {
+        return exec(session -> session
+                .set("clientIp", clientIp())
+                .set("email", email())
+                .set("password", LoadProfile.PASSWORD)
+                .set("secretValue", randomValue(LoadProfile.SECRET_BYTES)));
+    }
+
+    static String email() {
+        return "load-" + LoadProfile.RUN_ID + "-" + ACCOUNTS.incrementAndGet() + "@loadtest.securevault.com";
+    }
+
+    static String clientIp() {
+        long client = CLIENTS.incrementAndGet();
+        return "10." + ((client >> 16) & 255) + "." + ((client >> 8) & 255) + "." + (client & 255);
+    }
+
+    static ChainBuilder register() {
+        return exec(http("register").post("/api/auth/register")
+                .body(StringBody("{\"email\":\"#{email}\",\"password\":\"#{password}\","
+                        + "\"firstName\":\"Load\",\"lastName\":\"Test\"}"))
+                .check(status().is(201), jsonPath("$.id").saveAs("userId")));
+    }
+
+    static ChainBuilder login() {
+        return exec(http("login").post("/api/auth/login")
+                .body(StringBody("{\"email\":\"#{email}\",\"password\":\"#{password}\"}"))
+                .check(status().is(200), jsonPath("$.accessToken").saveAs("accessToken")));
+    }
+
+    static HttpRequestActionBuilder authorized(HttpRequestActionBuilder request) {
+        return request.header("Authorization", "Bearer #{accessToken}");
+    }
+
+    static ChainBuilder createSecret() {
+        return exec(authorized(http("create secret").post("/api/secrets")
+                .body(StringBody("{\"name\":\"load-#{userId}\",\"value\":\"#{secretValue}\","
+                        + "\"secretType\":\"PASSWORD\"}")))
+                .check(status().is(201), jsonPath("$.id").saveAs("secretId")));
+    }
+
+    static ChainBuilder readSecret() {
+        return exec(authorized(http("read secret").get("/api/secrets/#{secretId}"))
+                .check(status().is(200)));
+    }
+
+    static ChainBuilder createFolder(String name, String parentIdAttribute, String saveAs) {
+        String parent = parentIdAttribute == null ? "null" : "\"#{" + parentIdAttribute + "}\"";
+        return exec(authorized(http("create folder").post("/api/folders")
+                .body(StringBody("{\"name\":\"" + name + "\",\"parentFolderId\":" + parent + "}")))
+                .check(status().is(201), jsonPath("$.id").saveAs(saveAs)));
+    }
+
+    // JSON-safe printable value of the given length
+    static String randomValue(int length) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder value = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            value.append((char) ('a' + random.nextInt(26)));
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,41 @@
+package com.securevault.loadtest;
+
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.rampUsers;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+// Admins exporting the audit log as CSV (up to 10,000 events per export). Run it after one of the other
+// simulations so that there are events to export.
+public class AuditExportSimulation extends Simulation {
+
+    {
+        if (LoadProfile.ADMIN_EMAIL == null || LoadProfile.ADMIN_PASSWORD == null) {
+            throw new IllegalStateException("Set -Dloadtest.admin-email and -Dloadtest.admin-password to an ADMIN account");
+        }
+    }
+
+    private final ScenarioBuilder exports = scenario("audit csv export")
+            .exec(Api.newClient())
+            .exec(session -> session
+                    .set("email", LoadProfile.ADMIN_EMAIL)
+                    .set("password", LoadProfile.ADMIN_PASSWORD))
+            .exec(Api.login())
+            .exitHereIfFailed()
+            .during(LoadProfile.DURATION).on(
+                    exec(Api.authorized(http("export csv").get("/api/audit/events/export/csv")
+                                    .header("Accept", "text/csv"))
+                            .check(status().is(200)))
+                            .pause(LoadProfile.THINK_TIME));
+
+    {
+        setUp(exports.injectOpen(rampUsers(LoadProfile.EXPORT_USERS).during(LoadProfile.RAMP)))
+                .protocols(Api.protocol())
+                .assertions(global().failedRequests().percent().lte(LoadProfile.MAX_ERROR_PERCENT));
+    }
+}
@@ -0,0 +1,35 @@
+package com.securevault.loadtest;
+
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.rampUsers;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.header;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+// Open clients refreshing a small folder tree with If-None-Match; an unchanged tree is answered with 304
+public class FolderPollingSimulation extends Simulation {
+
+    private final ScenarioBuilder polling = scenario("folder tree polling")
+            .exec(Api.newClient(), Api.register(), Api.login())
+            .exec(Api.createFolder("Work", null, "rootId"))
+            .exec(Api.createFolder("Servers", "rootId", "childId"))
+            .exec(Api.createFolder("Databases", "childId", "grandchildId"))
+            .exec(session -> session.set("foldersETag", "W/\"none\""))
+            .exitHereIfFailed()
+            .during(LoadProfile.DURATION).on(
+                    exec(Api.authorized(http("poll folders").get("/api/folders")
+                                    .header("If-None-Match", "#{foldersETag}"))
+                            .check(status().in(200, 304), header("ETag").saveAs("foldersETag")))
+                            .pause(LoadProfile.POLL_INTERVAL));
+
+    {
+        setUp(polling.injectOpen(rampUsers(LoadProfile.USERS).during(LoadProfile.RAMP)))
+                .protocols(Api.protocol())
+                .assertions(global().failedRequests().percent().lte(LoadProfile.MAX_ERROR_PERCENT));
+    }
+}
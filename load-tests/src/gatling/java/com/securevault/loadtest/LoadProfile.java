@@ -0,0 +1,36 @@
+package com.securevault.loadtest;
+
+import java.time.Duration;
+
+// Workload parameters, passed as -Dloadtest.* system properties to ./gradlew gatlingRun
+final class LoadProfile {
+
+    // Gateway of the stack under test
+    static final String BASE_URL = System.getProperty("loadtest.base-url", "http://localhost:8080");
+    // Concurrent virtual users for the looping scenarios, accounts for the login storm
+    static final int USERS = Integer.getInteger("loadtest.users", 50);
+    // Logins per second at the peak of the login storm
+    static final int LOGIN_RATE = Integer.getInteger("loadtest.login-rate", 20);
+    static final Duration RAMP = Duration.ofSeconds(Long.getLong("loadtest.ramp-seconds", 30));
+    static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 120));
+    // Concurrent admins exporting audit logs
+    static final int EXPORT_USERS = Integer.getInteger("loadtest.export-users", 2);
+    // Pause between two iterations of one user
+    static final Duration THINK_TIME = Duration.ofMillis(Long.getLong("loadtest.think-time-millis", 1000));
+    // Pause between two polls of one client, as the frontend does
+    static final Duration POLL_INTERVAL = Duration.ofSeconds(Long.getLong("loadtest.poll-interval-seconds", 5));
+    static final int SECRET_BYTES = Integer.getInteger("loadtest.secret-bytes", 256);
+    // The run fails when more requests than this fail
+    static final double MAX_ERROR_PERCENT = Double.parseDouble(System.getProperty("loadtest.max-error-percent", "1"));
+
+    // Audit exports need an ADMIN account, which registration does not create
+    static final String ADMIN_EMAIL = System.getProperty("loadtest.admin-email");
+    static final String ADMIN_PASSWORD = System.getProperty("loadtest.admin-password");
+
+    // Accounts of one run never collide with those of an earlier run against the same database
+    static final String RUN_ID = Long.toString(System.currentTimeMillis(), 36);
+    static final String PASSWORD = "LoadTest-" + RUN_ID + "!";
+
+    private LoadProfile() {
+    }
+}
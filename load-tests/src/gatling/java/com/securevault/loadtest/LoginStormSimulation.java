@@ -0,0 +1,48 @@
+package com.securevault.loadtest;
+
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.gatling.javaapi.core.CoreDsl.constantUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.listFeeder;
+import static io.gatling.javaapi.core.CoreDsl.rampUsers;
+import static io.gatling.javaapi.core.CoreDsl.rampUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+
+// Many clients logging in at once, e.g. after a deploy invalidated all sessions. Every login is an
+// Argon2 verification, so this measures the hashing pool; 503 answers mean it was saturated.
+public class LoginStormSimulation extends Simulation {
+
+    private final List<Map<String, Object>> accounts = new ArrayList<>();
+
+    {
+        for (int i = 0; i < LoadProfile.USERS; i++) {
+            accounts.add(Map.of("email", Api.email(), "password", LoadProfile.PASSWORD));
+        }
+    }
+
+    private final ScenarioBuilder registerAccounts = scenario("register accounts")
+            .feed(listFeeder(accounts).queue())
+            .exec(session -> session.set("clientIp", Api.clientIp()))
+            .exec(Api.register());
+
+    // Each login comes from a new client address, so the per-address login limit does not apply
+    private final ScenarioBuilder loginStorm = scenario("login storm")
+            .feed(listFeeder(accounts).circular())
+            .exec(session -> session.set("clientIp", Api.clientIp()))
+            .exec(Api.login());
+
+    {
+        setUp(registerAccounts.injectOpen(rampUsers(LoadProfile.USERS).during(LoadProfile.RAMP))
+                .andThen(loginStorm.injectOpen(
+                        rampUsersPerSec(1).to(LoadProfile.LOGIN_RATE).during(LoadProfile.RAMP),
+                        constantUsersPerSec(LoadProfile.LOGIN_RATE).during(LoadProfile.DURATION))))
+                .protocols(Api.protocol())
+                .assertions(global().failedRequests().percent().lte(LoadProfile.MAX_ERROR_PERCENT));
+    }
+}
@@ -0,0 +1,37 @@
+package com.securevault.loadtest;
+
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.rampUsers;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+// Create, read, update, list and delete a secret in a loop: encryption, decryption and one audit event per write
+public class SecretCrudSimulation extends Simulation {
+
+    private final ScenarioBuilder crud = scenario("secret crud")
+            .exec(Api.newClient(), Api.register(), Api.login())
+            // A user whose setup failed would only add errors to the loop
+            .exitHereIfFailed()
+            .during(LoadProfile.DURATION).on(
+                    exec(Api.createSecret(), Api.readSecret())
+                            .exec(Api.authorized(http("update secret").put("/api/secrets/#{secretId}")
+                                            .body(StringBody("{\"value\":\"#{secretValue}-updated\"}")))
+                                    .check(status().is(200)))
+                            .exec(Api.authorized(http("list secrets").get("/api/secrets"))
+                                    .check(status().is(200)))
+                            .exec(Api.authorized(http("delete secret").delete("/api/secrets/#{secretId}"))
+                                    .check(status().is(204)))
+                            .pause(LoadProfile.THINK_TIME));
+
+    {
+        setUp(crud.injectOpen(rampUsers(LoadProfile.USERS).during(LoadProfile.RAMP)))
+                .protocols(Api.protocol())
+                .assertions(global().failedRequests().percent().lte(LoadProfile.MAX_ERROR_PERCENT));
+    }
+}
@@ -0,0 +1,41 @@
+package com.securevault.loadtest;
+
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.rampUsers;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+// Reads of a secret shared with the reader: the owner lookup misses, the share lookup hits, and every
+// read is decrypted and audited
+public class SharedSecretReadSimulation extends Simulation {
+
+    private final ScenarioBuilder sharedReads = scenario("shared secret reads")
+            // The reader account first, then the owner, who creates and shares the secret
+            .exec(Api.newClient(), Api.register(), Api.login())
+            .exec(session -> session
+                    .set("readerId", session.getString("userId"))
+                    .set("readerToken", session.getString("accessToken"))
+                    .set("email", Api.email()))
+            .exec(Api.register(), Api.login(), Api.createSecret())
+            .exec(Api.authorized(http("share secret").post("/api/secrets/#{secretId}/shares")
+                            .body(StringBody("{\"sharedWithUserId\":\"#{readerId}\",\"permission\":\"READ\"}")))
+                    .check(status().is(201)))
+            .exec(session -> session.set("accessToken", session.getString("readerToken")))
+            .exitHereIfFailed()
+            .during(LoadProfile.DURATION).on(
+                    exec(Api.authorized(http("read shared secret").get("/api/secrets/#{secretId}"))
+                            .check(status().is(200)))
+                            .pause(LoadProfile.THINK_TIME));
+
+    {
+        setUp(sharedReads.injectOpen(rampUsers(LoadProfile.USERS).during(LoadProfile.RAMP)))
+                .protocols(Api.protocol())
+                .assertions(global().failedRequests().percent().lte(LoadProfile.MAX_ERROR_PERCENT));
+    }
+}
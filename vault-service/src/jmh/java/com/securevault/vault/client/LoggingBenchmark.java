@@ -0,0 +1,157 @@
+package com.securevault.vault.client;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.MDC;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Map;
+
+// Cost on the calling thread of the warning AuditClient logs while audit-service is down, with four threads failing
+// at once: one warning per event as before, and through AuditFailureLog. The appenders are set up as in
+// logback-spring.xml (text or ECS JSON, written directly or through the bounded AsyncAppender) and write to a sink
+// that takes sinkMicros per write, like a slow stdout pipe. disabledDebug is a DEBUG statement below the INFO level.
+// Run with ./gradlew jmh; the gc profiler reports bytes/op as gc.alloc.rate.norm.
+@State(Scope.Benchmark)
+@Threads(4)
+public class LoggingBenchmark {
+
+    private static final String REASON = "I/O error on POST request for \"http://audit-service:8083/api/audit/events\"";
+
+    @Param({"sync", "async"})
+    private String appender;
+
+    @Param({"text", "json"})
+    private String format;
+
+    @Param({"0", "50"})
+    private int sinkMicros;
+
+    private LoggerContext context;
+    private Logger logger;
+    private AuditFailureLog failureLog;
+
+    @Setup
+    public void setUp() {
+        context = new LoggerContext();
+        // The MDC that MDC.put() writes to, so events carry the trace ids
+        context.setMDCAdapter(MDC.getMDCAdapter());
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(
+                new MapPropertySource("benchmark", Map.of("spring.application.name", "vault-service")));
+        // Where Spring Boot's logging system leaves the Environment for StructuredLogEncoder
+        context.putObject(Environment.class.getName(), environment);
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setEncoder(encoder());
+        console.setOutputStream(new SlowSink(sinkMicros * 1000L));
+        console.start();
+
+        Appender<ILoggingEvent> rootAppender = console;
+        if ("async".equals(appender)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(console);
+            async.start();
+            rootAppender = async;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(rootAppender);
+
+        logger = context.getLogger(AuditClient.class);
+        failureLog = new AuditFailureLog(logger, Duration.ofSeconds(10));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void warningPerEvent(TracedThread thread) {
+        logger.warn("Failed to send {} audit event(s): {}", 1, REASON);
+    }
+
+    @Benchmark
+    public void throttledWarning(TracedThread thread) {
+        failureLog.failed(1, REASON);
+    }
+
+    @Benchmark
+    public void disabledDebug(TracedThread thread) {
+        logger.debug("Sending {} audit event(s) to {}", 1, REASON);
+    }
+
+    // Trace and span ids in the MDC of every benchmark thread, as Micrometer Tracing sets them for the current span
+    @State(Scope.Thread)
+    public static class TracedThread {
+
+        @Setup
+        public void setUp() {
+            MDC.put("traceId", "4bf92f3577b34da6a3ce929d0e0e4736");
+            MDC.put("spanId", "00f067aa0ba902b7");
+        }
+    }
+
+    private Encoder<ILoggingEvent> encoder() {
+        if ("json".equals(format)) {
+            StructuredLogEncoder encoder = new StructuredLogEncoder();
+            encoder.setContext(context);
+            encoder.setFormat("ecs");
+            encoder.start();
+            return encoder;
+        }
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        // Spring Boot's console pattern, with the correlation ids it adds when tracing is on
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [vault-service] [%t] "
+                + "[%X{traceId:-}-%X{spanId:-}] %-40.40logger{39} : %m%n");
+        encoder.start();
+        return encoder;
+    }
+
+    private static final class SlowSink extends OutputStream {
+
+        private final long nanosPerWrite;
+
+        private SlowSink(long nanosPerWrite) {
+            this.nanosPerWrite = nanosPerWrite;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            long end = System.nanoTime() + nanosPerWrite;
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
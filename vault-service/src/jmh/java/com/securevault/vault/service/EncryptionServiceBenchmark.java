@@ -0,0 +1,51 @@
+package com.securevault.vault.service;
+
+import com.securevault.vault.model.EncryptedData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// AES-GCM encrypt/decrypt cost in EncryptionService per plaintext size, from a password to a large
+// certificate bundle. Run with ./gradlew jmh; the gc profiler reports bytes/op as gc.alloc.rate.norm.
+@State(Scope.Benchmark)
+public class EncryptionServiceBenchmark {
+
+    @Param({"32", "1024", "16384", "65536"})
+    private int payloadBytes;
+
+    private EncryptionService encryptionService;
+    private String plaintext;
+    private EncryptedData encrypted;
+
+    @Setup
+    public void setUp() {
+        byte[] key = new byte[32];
+        SecureRandom random = new SecureRandom();
+        random.nextBytes(key);
+        encryptionService = new EncryptionService(Base64.getEncoder().encodeToString(key), new SimpleMeterRegistry());
+
+        // ASCII, so the string length equals the encrypted byte count
+        StringBuilder builder = new StringBuilder(payloadBytes);
+        for (int i = 0; i < payloadBytes; i++) {
+            builder.append((char) ('a' + random.nextInt(26)));
+        }
+        plaintext = builder.toString();
+        encrypted = encryptionService.encrypt(plaintext);
+    }
+
+    @Benchmark
+    public EncryptedData encrypt() {
+        return encryptionService.encrypt(plaintext);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return encryptionService.decrypt(encrypted.encryptedValue(), encrypted.iv());
+    }
+}
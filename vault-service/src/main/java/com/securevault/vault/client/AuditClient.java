@@ -1,36 +1,92 @@
 package com.securevault.vault.client;
 
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @Slf4j
 public class AuditClient {
 
+    private static final ContextSnapshotFactory CONTEXT = ContextSnapshotFactory.builder().build();
+
     private final RestClient restClient;
+    private final Executor executor;
+    private final Tracer tracer;
+    // Events handed to the executor and not yet sent
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Timer sentTimer;
+    private final Timer failedTimer;
+    private final Counter failures;
+    private final AuditFailureLog failureLog;
+
+    public AuditClient(@Value("${audit-service.url}") String auditServiceUrl,
+                       @Value("${audit-service.connect-timeout:2s}") Duration connectTimeout,
+                       @Value("${audit-service.read-timeout:5s}") Duration readTimeout,
+                       @Value("${audit-service.failure-log-interval:10s}") Duration failureLogInterval,
+                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                       ObjectProvider<ObservationRegistry> observationRegistry,
+                       @Qualifier("applicationTaskExecutor") Executor executor,
+                       Tracer tracer,
+                       MeterRegistry meterRegistry) {
+        // The client keeps a pool of keep-alive connections to audit-service. HTTP/1.1 is pinned because
+        // the JDK client would otherwise attempt an h2c upgrade on every new plain-text connection.
+        HttpClient.Builder httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout);
+        if (virtualThreads) {
+            // Response handling on virtual threads instead of the client's default platform-thread pool
+            httpClient.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient.build());
+        requestFactory.setReadTimeout(readTimeout);
 
-    public AuditClient(@Value("${audit-service.url}") String auditServiceUrl) {
         this.restClient = RestClient.builder()
                 .baseUrl(auditServiceUrl)
+                .requestFactory(requestFactory)
+                // Latency is recorded as the http.client.requests timer
+                .observationRegistry(observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP))
                 .build();
+
+        this.executor = executor;
+        this.tracer = tracer;
+        Gauge.builder("audit.client.pending", pending, AtomicInteger::get)
+                .description("Audit events waiting to be sent")
+                .register(meterRegistry);
+        this.sentTimer = sendTimer(meterRegistry, "success");
+        this.failedTimer = sendTimer(meterRegistry, "failure");
+        this.failures = Counter.builder("audit.client.failures")
+                .description("Audit events that could not be delivered")
+                .register(meterRegistry);
+        this.failureLog = new AuditFailureLog(log, failureLogInterval);
     }
 
-    @Async
+    // Submitted explicitly: the log* helpers call this on the same instance, where @Async would not apply
     public void sendEvent(AuditEventRequest request) {
-        try {
-            restClient.post()
-                    .uri("/api/audit/events")
-                    .body(request)
-                    .retrieve()
-                    .toBodilessEntity();
-        } catch (Exception e) {
-            log.warn("Failed to send audit event: {}", e.getMessage());
-        }
+        withTraceId(request);
+        submit("/api/audit/events", request, 1);
     }
 
     public void logSecret(UUID userId, UUID secretId, String action, String status, String description) {
@@ -65,4 +121,53 @@ public class AuditClient {
                 .description(description)
                 .build());
     }
+
+    private void submit(String uri, Object body, int events) {
+        pending.addAndGet(events);
+        try {
+            // The snapshot carries the current observation over, so the POST joins the caller's trace
+            executor.execute(CONTEXT.captureAll().wrap(() -> {
+                try {
+                    send(uri, body, events);
+                } finally {
+                    pending.addAndGet(-events);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            pending.addAndGet(-events);
+            failures.increment(events);
+            failureLog.failed(events, "executor rejected the task");
+        }
+    }
+
+    private void withTraceId(AuditEventRequest request) {
+        Span span = tracer.currentSpan();
+        if (request.getTraceId() == null && span != null) {
+            request.setTraceId(span.context().traceId());
+        }
+    }
+
+    private void send(String uri, Object body, int events) {
+        long start = System.nanoTime();
+        try {
+            restClient.post()
+                    .uri(uri)
+                    .body(body)
+                    .retrieve()
+                    .toBodilessEntity();
+            sentTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            failedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            failures.increment(events);
+            failureLog.failed(events, e.getMessage());
+        }
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("audit.client.send")
+                .description("Delivery of audit events to audit-service")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 }
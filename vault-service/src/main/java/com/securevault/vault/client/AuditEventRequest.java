@@ -24,4 +24,5 @@ public class AuditEventRequest {
     private String userAgent;
     private String status;
     private String metadata;
+    private String traceId;
 }
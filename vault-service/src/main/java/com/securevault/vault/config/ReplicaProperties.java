@@ -0,0 +1,27 @@
+package com.securevault.vault.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "datasource.replica")
+public class ReplicaProperties {
+    // JDBC url of a streaming replica; read-only transactions use it when set
+    private String url;
+    // Empty: the primary's credentials
+    private String username;
+    private String password;
+    // Empty: the primary's spring.datasource.hikari.maximum-pool-size
+    private Integer maximumPoolSize;
+    // Read-only transactions go to the primary while the replica's replay is further behind than this
+    private Duration maxLag = Duration.ofSeconds(1);
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+    // A user's read-only transactions go to the primary this long after their last write
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+        return url != null && !url.isBlank();
+    }
+}
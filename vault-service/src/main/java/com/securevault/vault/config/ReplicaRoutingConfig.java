@@ -0,0 +1,91 @@
+package com.securevault.vault.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ReplicaRoutingConfig {
+
+    @Bean
+    static ReplicaRoutingPostProcessor replicaRoutingPostProcessor(ObjectProvider<ReplicaProperties> properties,
+                                                                   ObjectProvider<RecentWrites> recentWrites,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReplicaRoutingPostProcessor(properties, recentWrites, meterRegistry);
+    }
+
+    // Replaces the auto-configured pool with a ReplicaRoutingDataSource when datasource.replica.url is set. Ordered,
+    // so it runs before the SqlStatisticsConfig post-processor, whose statistics then cover both pools.
+    @RequiredArgsConstructor
+    static class ReplicaRoutingPostProcessor implements BeanPostProcessor, Ordered, DisposableBean {
+
+        private final ObjectProvider<ReplicaProperties> properties;
+        private final ObjectProvider<RecentWrites> recentWrites;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private HikariDataSource replicaPool;
+        private ScheduledExecutorService scheduler;
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource primary) || replicaPool != null) {
+                return bean;
+            }
+            ReplicaProperties replica = properties.getObject();
+            if (!replica.isEnabled()) {
+                return bean;
+            }
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setPoolName(primary.getPoolName() + "-replica");
+            config.setJdbcUrl(replica.getUrl());
+            if (replica.getUsername() != null && !replica.getUsername().isBlank()) {
+                config.setUsername(replica.getUsername());
+                config.setPassword(replica.getPassword());
+            }
+            if (replica.getMaximumPoolSize() != null) {
+                config.setMaximumPoolSize(replica.getMaximumPoolSize());
+            }
+            config.setReadOnly(true);
+            // Starts without a reachable replica; reads stay on the primary until the lag check reaches it
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry.getObject()));
+            replicaPool = new HikariDataSource(config);
+
+            ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replicaPool, replica.getMaxLag(),
+                    meterRegistry.getObject());
+            RecentWrites writes = recentWrites.getObject();
+            scheduler = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("replica-lag-check").daemon().factory());
+            scheduler.scheduleWithFixedDelay(() -> {
+                lagMonitor.check();
+                writes.purgeExpired();
+            }, 0, replica.getLagCheckInterval().toMillis(), TimeUnit.MILLISECONDS);
+            return new ReplicaRoutingDataSource(primary, replicaPool, lagMonitor, writes, meterRegistry.getObject());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void destroy() {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                replicaPool.close();
+            }
+        }
+    }
+}
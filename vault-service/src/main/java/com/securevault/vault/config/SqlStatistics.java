@@ -0,0 +1,55 @@
+package com.securevault.vault.config;
+
+import java.time.Duration;
+
+// SQL work done on the current thread since begin(): statements executed, rows read and time spent in JDBC.
+// SqlStatisticsFilter opens one per HTTP request; tests open their own to assert query counts.
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    private SqlStatistics() {
+    }
+
+    public static SqlStatistics begin() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    // Stops counting on this thread; the returned statistics keep their values
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static void statementExecuted(long elapsedNanos) {
+        SqlStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+            statistics.nanos += elapsedNanos;
+        }
+    }
+
+    static void rowRead() {
+        SqlStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.rows++;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public Duration getTime() {
+        return Duration.ofNanos(nanos);
+    }
+}
@@ -0,0 +1,29 @@
+package com.securevault.vault.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlStatisticsConfig {
+
+    // Static, and resolving its dependencies lazily, so post-processor registration does not initialize them early
+    @Bean
+    static BeanPostProcessor sqlStatisticsDataSourcePostProcessor(ObjectProvider<SqlStatisticsProperties> properties,
+                                                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlStatisticsDataSource)) {
+                    return new SqlStatisticsDataSource(dataSource,
+                            properties.getObject().getSlowQueryThreshold(), meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
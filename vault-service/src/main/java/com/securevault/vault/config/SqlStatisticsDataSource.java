@@ -0,0 +1,123 @@
+package com.securevault.vault.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Counts executed statements, rows read and JDBC time into the thread's SqlStatistics, and logs statements
+// slower than the threshold. SQL is logged as prepared, with placeholders, so secrets never reach the log.
+@Slf4j
+public class SqlStatisticsDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final long slowQueryNanos;
+    private final Counter slowQueryCounter;
+
+    public SqlStatisticsDataSource(DataSource target, Duration slowQueryThreshold, MeterRegistry meterRegistry) {
+        super(target);
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+        this.slowQueryCounter = Counter.builder("sql.slow.queries")
+                .description("Statements that ran longer than sql-statistics.slow-query-threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof PreparedStatement statement) {
+                // prepareStatement/prepareCall carry their SQL; execute() on them takes no arguments
+                return wrapStatement(PreparedStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof Statement statement) {
+                return wrapStatement(Statement.class, statement, null);
+            }
+            return result;
+        });
+    }
+
+    private <S extends Statement> S wrapStatement(Class<S> type, S statement, String preparedSql) {
+        return proxy(type, statement, (method, args) -> {
+            if (!EXECUTE_METHODS.contains(method.getName())) {
+                return wrapResultSet(invoke(statement, method, args));
+            }
+            long start = System.nanoTime();
+            try {
+                return wrapResultSet(invoke(statement, method, args));
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                SqlStatistics.statementExecuted(elapsed);
+                if (elapsed > slowQueryNanos) {
+                    slowQueryCounter.increment();
+                    String sql = preparedSql != null ? preparedSql
+                            : args != null && args.length > 0 && args[0] instanceof String s ? s : "<batch>";
+                    log.warn("Slow query ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(elapsed), sql);
+                }
+            }
+        });
+    }
+
+    // Covers executeQuery(), getResultSet() and getGeneratedKeys()
+    private Object wrapResultSet(Object result) {
+        if (!(result instanceof ResultSet resultSet)) {
+            return result;
+        }
+        return proxy(ResultSet.class, resultSet, (method, args) -> {
+            Object value = invoke(resultSet, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(value)) {
+                SqlStatistics.rowRead();
+            }
+            return value;
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        return (T) Proxy.newProxyInstance(SqlStatisticsDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    // Identity of the proxy itself, since Hibernate keys its resource registry by statement
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> target.toString();
+                    default -> handler.handle(method, args);
+                });
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+}
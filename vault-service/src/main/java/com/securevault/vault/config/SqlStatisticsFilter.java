@@ -0,0 +1,69 @@
+package com.securevault.vault.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+// Per-endpoint SQL cost: statements, rows and JDBC time of each request, tagged with the matched URI pattern.
+// With sql-statistics.response-headers the body is buffered so the totals can still go into the headers.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    private final SqlStatisticsProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        HttpServletResponse target = properties.isResponseHeaders() ? new ContentCachingResponseWrapper(response) : response;
+        SqlStatistics statistics = SqlStatistics.begin();
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            SqlStatistics.end();
+            record(request, statistics);
+        }
+        if (target instanceof ContentCachingResponseWrapper wrapper) {
+            wrapper.setHeader("X-SQL-Statements", String.valueOf(statistics.getStatements()));
+            wrapper.setHeader("X-SQL-Rows", String.valueOf(statistics.getRows()));
+            wrapper.setHeader("X-SQL-Time-Ms", String.valueOf(statistics.getTime().toMillis()));
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+        DistributionSummary.builder("sql.requests.statements")
+                .description("SQL statements executed per HTTP request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        DistributionSummary.builder("sql.requests.rows")
+                .description("Result set rows read per HTTP request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getRows());
+        Timer.builder("sql.requests.time")
+                .description("Time spent executing SQL per HTTP request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getTime());
+    }
+}
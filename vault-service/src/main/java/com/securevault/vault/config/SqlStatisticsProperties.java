@@ -0,0 +1,15 @@
+package com.securevault.vault.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "sql-statistics")
+public class SqlStatisticsProperties {
+    // Statements running longer than this are logged with their SQL (placeholders only, never bind values)
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+    // Adds X-SQL-Statements, X-SQL-Rows and X-SQL-Time-Ms to every response; meant for dev only
+    private boolean responseHeaders = false;
+}
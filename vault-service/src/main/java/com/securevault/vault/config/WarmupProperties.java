@@ -0,0 +1,14 @@
+package com.securevault.vault.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupProperties {
+    private boolean enabled = true;
+    // How long the hot paths are exercised before readiness turns UP; 0 runs each of them once
+    private Duration duration = Duration.ZERO;
+}
@@ -0,0 +1,114 @@
+package com.securevault.vault.config;
+
+import com.securevault.vault.model.EncryptedData;
+import com.securevault.vault.service.EncryptionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Runs before readiness turns UP and repeats the request hot paths for warmup.duration, so the JIT has compiled
+// them when the first real request arrives: AES-GCM at typical secret sizes in-process, and loopback list requests
+// through Tomcat, the filter chain, Hibernate's prepared statements and Jackson. The loopback requests use a random
+// user id, so they read and write nothing. A failing step is logged once and left out of the remaining rounds.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final int[] PAYLOAD_SIZES = {32, 1024, 16384};
+
+    private final EncryptionService encryptionService;
+    private final WarmupProperties properties;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + properties.getDuration().toNanos();
+
+        Map<String, Runnable> steps = new LinkedHashMap<>();
+        steps.put("AES-GCM", this::encryptDecrypt);
+        // Not a web application (e.g. in tests): the in-process steps still run
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port != null) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(2))
+                    .build();
+            String userId = UUID.randomUUID().toString();
+            for (String path : new String[]{"/api/secrets", "/api/folders"}) {
+                URI uri = URI.create("http://localhost:" + port + path);
+                steps.put("GET " + path, () -> get(client, uri, userId));
+            }
+        }
+
+        int rounds = 0;
+        do {
+            steps.entrySet().removeIf(step -> !attempt(step.getKey(), step.getValue()));
+            rounds++;
+        } while (System.nanoTime() < deadline && !steps.isEmpty());
+
+        long elapsed = System.nanoTime() - start;
+        TimeGauge.builder("application.warmup.time", () -> elapsed, TimeUnit.NANOSECONDS)
+                .description("Time spent warming up the hot paths before readiness")
+                .register(meterRegistry);
+        log.info("Warm-up finished in {} ms after {} rounds", TimeUnit.NANOSECONDS.toMillis(elapsed), rounds);
+    }
+
+    private void encryptDecrypt() {
+        for (int size : PAYLOAD_SIZES) {
+            EncryptedData encrypted = encryptionService.encrypt("w".repeat(size));
+            encryptionService.decrypt(encrypted.encryptedValue(), encrypted.iv());
+        }
+    }
+
+    private static void get(HttpClient client, URI uri, String userId) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(5))
+                .header("X-User-Id", userId)
+                .GET()
+                .build();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status != 200) {
+                throw new IllegalStateException("status " + status);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted", e);
+        }
+    }
+
+    private static boolean attempt(String name, Runnable step) {
+        try {
+            step.run();
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Warm-up step {} failed, skipping it: {}", name, e.getMessage());
+            return false;
+        }
+    }
+}
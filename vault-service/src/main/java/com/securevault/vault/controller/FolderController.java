@@ -4,6 +4,7 @@ import com.securevault.vault.dto.CreateFolderRequest;
 import com.securevault.vault.dto.FolderResponse;
 import com.securevault.vault.dto.UpdateFolderRequest;
 import com.securevault.vault.service.FolderService;
+import com.securevault.vault.util.ETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -30,8 +32,16 @@ public class FolderController {
 
     @GetMapping
     public ResponseEntity<List<FolderResponse>> getFolders(
-            @RequestHeader("X-User-Id") UUID userId) {
-        return ResponseEntity.ok(folderService.getFolders(userId));
+            @RequestHeader("X-User-Id") UUID userId,
+            WebRequest webRequest) {
+        String eTag = folderService.getFoldersETag(userId);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(ETags.REVALIDATE)
+                .body(folderService.getFolders(userId));
     }
 
     @GetMapping("/{id}")
@@ -5,6 +5,7 @@ import com.securevault.vault.dto.SecretResponse;
 import com.securevault.vault.dto.SecretSummaryResponse;
 import com.securevault.vault.dto.UpdateSecretRequest;
 import com.securevault.vault.service.SecretService;
+import com.securevault.vault.util.ETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -30,8 +32,18 @@ public class SecretController {
     private final SecretService secretService;
 
     @GetMapping
-    public ResponseEntity<List<SecretSummaryResponse>> getAllSecrets(@RequestHeader("X-User-Id") UUID userId) {
-        return ResponseEntity.ok(secretService.getAllSecrets(userId));
+    public ResponseEntity<List<SecretSummaryResponse>> getAllSecrets(
+            @RequestHeader("X-User-Id") UUID userId,
+            WebRequest webRequest) {
+        String eTag = secretService.getSecretListETag(userId);
+        if (webRequest.checkNotModified(eTag)) {
+            // Nothing is loaded, decrypted or serialized for an unchanged list
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(ETags.REVALIDATE)
+                .body(secretService.getAllSecrets(userId));
     }
 
     @GetMapping("/{id}")
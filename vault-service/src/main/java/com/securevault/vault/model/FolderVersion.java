@@ -0,0 +1,12 @@
+package com.securevault.vault.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Everything a folder tree node depends on; renames and moves bump updatedAt
+public record FolderVersion(
+        UUID id,
+        LocalDateTime updatedAt,
+        Long secretCount
+) {
+}
@@ -0,0 +1,13 @@
+package com.securevault.vault.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Everything a secret list entry depends on, without loading the entity or its ciphertext
+public record SecretVersion(
+        UUID id,
+        Long version,
+        LocalDateTime updatedAt,
+        LocalDateTime folderUpdatedAt
+) {
+}
@@ -1,7 +1,10 @@
 package com.securevault.vault.repository;
 
 import com.securevault.vault.entity.Folder;
+import com.securevault.vault.model.FolderVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,4 +20,13 @@ public interface FolderRepository extends JpaRepository<Folder, UUID> {
     List<Folder> findAllByUserIdAndParentFolder(UUID userId, Folder parentFolder);
 
     Optional<Folder> findByIdAndUserId(UUID id, UUID userId);
+
+    @Query("""
+            select new com.securevault.vault.model.FolderVersion(f.id, f.updatedAt, count(s))
+            from Folder f left join f.secrets s
+            where f.userId = :userId
+            group by f.id, f.updatedAt
+            order by f.id
+            """)
+    List<FolderVersion> findVersionsByUserId(@Param("userId") UUID userId);
 }
@@ -2,7 +2,11 @@ package com.securevault.vault.repository;
 
 import com.securevault.vault.entity.Folder;
 import com.securevault.vault.entity.Secret;
+import com.securevault.vault.model.SecretVersion;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,6 +16,8 @@ import java.util.UUID;
 @Repository
 public interface SecretRepository extends JpaRepository<Secret, UUID> {
 
+    // Folders are joined in, since every summary shows its folder name
+    @EntityGraph(attributePaths = "folder")
     List<Secret> findAllByUserId(UUID userId);
 
     List<Secret> findAllByUserIdAndFolder(UUID userId, Folder folder);
@@ -21,4 +27,12 @@ public interface SecretRepository extends JpaRepository<Secret, UUID> {
     Optional<Secret> findByIdAndUserId(UUID id, UUID userId);
 
     long countByUserId(UUID userId);
+
+    @Query("""
+            select new com.securevault.vault.model.SecretVersion(s.id, s.version, s.updatedAt, f.updatedAt)
+            from Secret s left join s.folder f
+            where s.userId = :userId
+            order by s.id
+            """)
+    List<SecretVersion> findVersionsByUserId(@Param("userId") UUID userId);
 }
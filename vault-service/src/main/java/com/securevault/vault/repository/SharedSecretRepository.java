@@ -1,7 +1,11 @@
 package com.securevault.vault.repository;
 
 import com.securevault.vault.entity.SharedSecret;
+import com.securevault.vault.model.SecretVersion;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +14,8 @@ import java.util.UUID;
 
 @Repository
 public interface SharedSecretRepository extends JpaRepository<SharedSecret, UUID> {
+    // Shared secrets and their folders are joined in, so listing them is one query
+    @EntityGraph(attributePaths = {"secret", "secret.folder"})
     List<SharedSecret> findAllBySharedWithUserId(UUID userId);
 
     Optional<SharedSecret> findBySecretIdAndSharedWithUserId(UUID secretId, UUID userId);
@@ -19,4 +25,12 @@ public interface SharedSecretRepository extends JpaRepository<SharedSecret, UUID
     void deleteBySecretIdAndSharedWithUserId(UUID secretId, UUID userId);
 
     void deleteAllBySecretId(UUID secretId);
+
+    @Query("""
+            select new com.securevault.vault.model.SecretVersion(s.id, s.version, s.updatedAt, f.updatedAt)
+            from SharedSecret ss join ss.secret s left join s.folder f
+            where ss.sharedWithUserId = :userId
+            order by s.id
+            """)
+    List<SecretVersion> findSharedVersionsByUserId(@Param("userId") UUID userId);
 }
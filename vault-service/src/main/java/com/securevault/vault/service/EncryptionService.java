@@ -1,6 +1,9 @@
 package com.securevault.vault.service;
 
 import com.securevault.vault.model.EncryptedData;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -9,6 +12,7 @@ import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class EncryptionService {
@@ -18,13 +22,23 @@ public class EncryptionService {
     private static final int IV_LENGTH = 12;
 
     private final SecretKeySpec secretKey;
+    private final Timer encryptTimer;
+    private final Timer decryptTimer;
+    // Plaintext bytes per call
+    private final DistributionSummary encryptSize;
+    private final DistributionSummary decryptSize;
 
-    public EncryptionService(@Value("${encryption.master-key}") String masterKey) {
+    public EncryptionService(@Value("${encryption.master-key}") String masterKey, MeterRegistry meterRegistry) {
         byte[] keyBytes = Base64.getDecoder().decode(masterKey);
         this.secretKey = new SecretKeySpec(keyBytes, "AES");
+        this.encryptTimer = operationTimer(meterRegistry, "encrypt");
+        this.decryptTimer = operationTimer(meterRegistry, "decrypt");
+        this.encryptSize = payloadSize(meterRegistry, "encrypt");
+        this.decryptSize = payloadSize(meterRegistry, "decrypt");
     }
 
     public EncryptedData encrypt(String plaintext) {
+        long start = System.nanoTime();
         try {
             byte[] iv = new byte[IV_LENGTH];
             new SecureRandom().nextBytes(iv);
@@ -32,7 +46,9 @@ public class EncryptionService {
             Cipher cipher = Cipher.getInstance(ALGORITHM);
             cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
 
-            byte[] encrypted = cipher.doFinal(plaintext.getBytes());
+            byte[] plaintextBytes = plaintext.getBytes();
+            byte[] encrypted = cipher.doFinal(plaintextBytes);
+            encryptSize.record(plaintextBytes.length);
 
             return new EncryptedData(
                     Base64.getEncoder().encodeToString(encrypted),
@@ -40,10 +56,13 @@ public class EncryptionService {
             );
         } catch (Exception e) {
             throw new RuntimeException("Encryption failed", e);
+        } finally {
+            encryptTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
     public String decrypt(String encryptedValue, String iv) {
+        long start = System.nanoTime();
         try {
             byte[] encryptedBytes = Base64.getDecoder().decode(encryptedValue);
             byte[] ivBytes = Base64.getDecoder().decode(iv);
@@ -52,10 +71,30 @@ public class EncryptionService {
             cipher.init(Cipher.DECRYPT_MODE, secretKey, new GCMParameterSpec(GCM_TAG_LENGTH, ivBytes));
 
             byte[] decrypted = cipher.doFinal(encryptedBytes);
+            decryptSize.record(decrypted.length);
 
             return new String(decrypted);
         } catch (Exception e) {
             throw new RuntimeException("Decryption failed", e);
+        } finally {
+            decryptTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
+
+    private static Timer operationTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("vault.encryption")
+                .description("AES-GCM encryption and decryption of secret values")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static DistributionSummary payloadSize(MeterRegistry meterRegistry, String operation) {
+        return DistributionSummary.builder("vault.encryption.payload.size")
+                .description("Plaintext size of encrypted and decrypted secret values")
+                .baseUnit("bytes")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 }
@@ -6,12 +6,17 @@ import com.securevault.vault.dto.FolderResponse;
 import com.securevault.vault.dto.UpdateFolderRequest;
 import com.securevault.vault.entity.Folder;
 import com.securevault.vault.exception.FolderNotFoundException;
+import com.securevault.vault.model.FolderVersion;
 import com.securevault.vault.repository.FolderRepository;
+import com.securevault.vault.util.ETags;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -35,22 +40,29 @@ public class FolderService {
         auditClient.logFolder(userId, folder.getId(), "FOLDER_CREATED", "SUCCESS",
                 "Folder created: " + folder.getName());
 
-        return toFolderResponse(folder);
+        // A new folder has no children or secrets yet
+        return FolderTree.EMPTY.toResponse(folder);
     }
 
     @Transactional(readOnly = true)
     public List<FolderResponse> getFolders(UUID userId) {
-        List<Folder> rootFolders = folderRepository.findAllByUserIdAndParentFolderIsNull(userId);
-        return rootFolders.stream()
-                .map(this::toFolderResponse)
+        FolderTree tree = loadTree(userId);
+        return tree.children(null).stream()
+                .map(tree::toResponse)
                 .toList();
     }
 
+    // Version of the folder tree from one grouped query, so unchanged polls skip walking the tree
+    @Transactional(readOnly = true)
+    public String getFoldersETag(UUID userId) {
+        return ETags.of(folderRepository.findVersionsByUserId(userId));
+    }
+
     @Transactional(readOnly = true)
     public FolderResponse getFolder(UUID userId, UUID folderId) {
         Folder folder = folderRepository.findByIdAndUserId(folderId, userId)
                 .orElseThrow(() -> new FolderNotFoundException("Folder not found"));
-        return toFolderResponse(folder);
+        return loadTree(userId).toResponse(folder);
     }
 
     public FolderResponse updateFolder(UUID userId, UUID folderId, UpdateFolderRequest request) {
@@ -71,7 +83,7 @@ public class FolderService {
         auditClient.logFolder(userId, folderId, "FOLDER_UPDATED", "SUCCESS",
                 "Folder updated: " + folder.getName());
 
-        return toFolderResponse(folder);
+        return loadTree(userId).toResponse(folder);
     }
 
     public void deleteFolder(UUID userId, UUID folderId) {
@@ -91,18 +103,41 @@ public class FolderService {
                 "Folder deleted: " + folder.getName());
     }
 
-    private FolderResponse toFolderResponse(Folder folder) {
-        return FolderResponse.builder()
-                .id(folder.getId())
-                .name(folder.getName())
-                .parentFolderId(folder.getParentFolder() != null ? folder.getParentFolder().getId() : null)
-                .childFolders(folder.getChildren() != null
-                        ? folder.getChildren().stream().map(this::toFolderResponse).toList()
-                        : List.of())
-                .secretCount(folder.getSecrets() != null ? folder.getSecrets().size() : 0)
-                .createdAt(folder.getCreatedAt())
-                .updatedAt(folder.getUpdatedAt())
-                .build();
+    // The user's whole folder tree from two queries, instead of two lazy loads per folder in the tree
+    private FolderTree loadTree(UUID userId) {
+        Map<UUID, List<Folder>> childrenByParent = new HashMap<>();
+        for (Folder folder : folderRepository.findAllByUserId(userId)) {
+            // getId() on an uninitialized parent proxy does not hit the database
+            UUID parentId = folder.getParentFolder() != null ? folder.getParentFolder().getId() : null;
+            childrenByParent.computeIfAbsent(parentId, id -> new ArrayList<>()).add(folder);
+        }
+        Map<UUID, Long> secretCounts = new HashMap<>();
+        for (FolderVersion version : folderRepository.findVersionsByUserId(userId)) {
+            secretCounts.put(version.id(), version.secretCount());
+        }
+        return new FolderTree(childrenByParent, secretCounts);
+    }
+
+    private record FolderTree(Map<UUID, List<Folder>> childrenByParent, Map<UUID, Long> secretCounts) {
+
+        static final FolderTree EMPTY = new FolderTree(Map.of(), Map.of());
+
+        // Root folders for a null parent id
+        List<Folder> children(UUID parentId) {
+            return childrenByParent.getOrDefault(parentId, List.of());
+        }
+
+        FolderResponse toResponse(Folder folder) {
+            return FolderResponse.builder()
+                    .id(folder.getId())
+                    .name(folder.getName())
+                    .parentFolderId(folder.getParentFolder() != null ? folder.getParentFolder().getId() : null)
+                    .childFolders(children(folder.getId()).stream().map(this::toResponse).toList())
+                    .secretCount(secretCounts.getOrDefault(folder.getId(), 0L).intValue())
+                    .createdAt(folder.getCreatedAt())
+                    .updatedAt(folder.getUpdatedAt())
+                    .build();
+        }
     }
 
     private static Folder toFolder(UUID userId, CreateFolderRequest request, Folder parentFolder) {
@@ -17,7 +17,9 @@ import com.securevault.vault.model.SecretType;
 import com.securevault.vault.repository.FolderRepository;
 import com.securevault.vault.repository.SecretRepository;
 import com.securevault.vault.repository.SharedSecretRepository;
-import lombok.RequiredArgsConstructor;
+import com.securevault.vault.util.ETags;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,7 +29,6 @@ import java.util.UUID;
 import java.util.stream.Stream;
 
 @Service
-@RequiredArgsConstructor
 @Transactional
 public class SecretService {
     private final SecretRepository secretRepository;
@@ -35,110 +36,173 @@ public class SecretService {
     private final FolderRepository folderRepository;
     private final EncryptionService encryptionService;
     private final AuditClient auditClient;
+    private final MeterRegistry meterRegistry;
+    // Recorded inside the transaction, so commit time shows up in http.server.requests only
+    private final Timer createTimer;
+    private final Timer getTimer;
+    private final Timer listTimer;
+    private final Timer updateTimer;
+    private final Timer deleteTimer;
+
+    public SecretService(SecretRepository secretRepository, SharedSecretRepository sharedSecretRepository,
+                         FolderRepository folderRepository, EncryptionService encryptionService,
+                         AuditClient auditClient, MeterRegistry meterRegistry) {
+        this.secretRepository = secretRepository;
+        this.sharedSecretRepository = sharedSecretRepository;
+        this.folderRepository = folderRepository;
+        this.encryptionService = encryptionService;
+        this.auditClient = auditClient;
+        this.meterRegistry = meterRegistry;
+        this.createTimer = operationTimer(meterRegistry, "create");
+        this.getTimer = operationTimer(meterRegistry, "get");
+        this.listTimer = operationTimer(meterRegistry, "list");
+        this.updateTimer = operationTimer(meterRegistry, "update");
+        this.deleteTimer = operationTimer(meterRegistry, "delete");
+    }
 
     public SecretResponse createSecret(UUID userId, CreateSecretRequest request) {
-        Folder folder = null;
-        if (request.getFolderId() != null) {
-            folder = folderRepository.findByIdAndUserId(request.getFolderId(), userId)
-                    .orElseThrow(() -> new FolderNotFoundException("Folder not found"));
-        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Folder folder = null;
+            if (request.getFolderId() != null) {
+                folder = folderRepository.findByIdAndUserId(request.getFolderId(), userId)
+                        .orElseThrow(() -> new FolderNotFoundException("Folder not found"));
+            }
 
-        EncryptedData encrypted = encryptionService.encrypt(request.getValue());
+            EncryptedData encrypted = encryptionService.encrypt(request.getValue());
 
-        Secret secret = toSecret(userId, request, encrypted, folder);
+            Secret secret = toSecret(userId, request, encrypted, folder);
 
-        secret = secretRepository.save(secret);
+            secret = secretRepository.save(secret);
 
-        auditClient.logSecret(userId, secret.getId(), "SECRET_CREATED", "SUCCESS",
-                "Secret created: " + secret.getName());
+            auditClient.logSecret(userId, secret.getId(), "SECRET_CREATED", "SUCCESS",
+                    "Secret created: " + secret.getName());
 
-        return toSecretResponse(secret, request.getValue(), false);
+            return toSecretResponse(secret, request.getValue(), false);
+        } finally {
+            sample.stop(createTimer);
+        }
     }
 
     @Transactional(readOnly = true)
     public SecretResponse getSecret(UUID userId, UUID secretId) {
-        // Check if owner
-        Optional<Secret> ownSecret = secretRepository.findByIdAndUserId(secretId, userId);
-        if (ownSecret.isPresent()) {
-            Secret secret = ownSecret.get();
-            String decrypted = encryptionService.decrypt(secret.getEncryptedValue(), secret.getIv());
-            boolean shared = !sharedSecretRepository.findAllBySecretId(secretId).isEmpty();
-            auditClient.logSecret(userId, secretId, "SECRET_READ", "SUCCESS",
-                    "Secret read: " + secret.getName());
-            return toSecretResponse(secret, decrypted, shared);
-        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            // Check if owner
+            Optional<Secret> ownSecret = secretRepository.findByIdAndUserId(secretId, userId);
+            if (ownSecret.isPresent()) {
+                Secret secret = ownSecret.get();
+                String decrypted = encryptionService.decrypt(secret.getEncryptedValue(), secret.getIv());
+                boolean shared = !sharedSecretRepository.findAllBySecretId(secretId).isEmpty();
+                auditClient.logSecret(userId, secretId, "SECRET_READ", "SUCCESS",
+                        "Secret read: " + secret.getName());
+                return toSecretResponse(secret, decrypted, shared);
+            }
 
-        // Check if shared with user
-        Optional<SharedSecret> sharedSecret = sharedSecretRepository.findBySecretIdAndSharedWithUserId(secretId, userId);
-        if (sharedSecret.isPresent()) {
-            Secret secret = sharedSecret.get().getSecret();
-            String decrypted = encryptionService.decrypt(secret.getEncryptedValue(), secret.getIv());
-            auditClient.logSecret(userId, secretId, "SECRET_READ", "SUCCESS",
-                    "Shared secret read: " + secret.getName());
-            return toSecretResponse(secret, decrypted, true);
-        }
+            // Check if shared with user
+            Optional<SharedSecret> sharedSecret = sharedSecretRepository.findBySecretIdAndSharedWithUserId(secretId, userId);
+            if (sharedSecret.isPresent()) {
+                Secret secret = sharedSecret.get().getSecret();
+                String decrypted = encryptionService.decrypt(secret.getEncryptedValue(), secret.getIv());
+                auditClient.logSecret(userId, secretId, "SECRET_READ", "SUCCESS",
+                        "Shared secret read: " + secret.getName());
+                return toSecretResponse(secret, decrypted, true);
+            }
 
-        throw new AccessDeniedException("Secret not found or access denied");
+            throw new AccessDeniedException("Secret not found or access denied");
+        } finally {
+            sample.stop(getTimer);
+        }
     }
 
     @Transactional(readOnly = true)
     public List<SecretSummaryResponse> getAllSecrets(UUID userId) {
-        List<SecretSummaryResponse> ownSecrets = secretRepository.findAllByUserId(userId)
-                .stream()
-                .map(this::toSecretSummaryResponse)
-                .toList();
-
-        List<SecretSummaryResponse> sharedSecrets = sharedSecretRepository
-                .findAllBySharedWithUserId(userId)
-                .stream()
-                .map(shared -> toSecretSummaryResponse(shared.getSecret()))
-                .toList();
-
-        return Stream.concat(ownSecrets.stream(), sharedSecrets.stream()).toList();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            List<SecretSummaryResponse> ownSecrets = secretRepository.findAllByUserId(userId)
+                    .stream()
+                    .map(this::toSecretSummaryResponse)
+                    .toList();
+
+            List<SecretSummaryResponse> sharedSecrets = sharedSecretRepository
+                    .findAllBySharedWithUserId(userId)
+                    .stream()
+                    .map(shared -> toSecretSummaryResponse(shared.getSecret()))
+                    .toList();
+
+            return Stream.concat(ownSecrets.stream(), sharedSecrets.stream()).toList();
+        } finally {
+            sample.stop(listTimer);
+        }
+    }
+
+    // Version of getAllSecrets, from id/version/timestamp rows only, so unchanged polls skip entity loading
+    @Transactional(readOnly = true)
+    public String getSecretListETag(UUID userId) {
+        return ETags.of(secretRepository.findVersionsByUserId(userId),
+                sharedSecretRepository.findSharedVersionsByUserId(userId));
     }
 
     public SecretResponse updateSecret(UUID userId, UUID secretId, UpdateSecretRequest request) {
-        Secret secret = getSecretWithWriteAccess(userId, secretId);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Secret secret = getSecretWithWriteAccess(userId, secretId);
 
-        if (request.getName() != null) {
-            secret.setName(request.getName());
-        }
-        if (request.getDescription() != null) {
-            secret.setDescription(request.getDescription());
-        }
-        if (request.getSecretType() != null) {
-            secret.setSecretType(request.getSecretType());
-        }
-        if (request.getValue() != null) {
-            EncryptedData encrypted = encryptionService.encrypt(request.getValue());
-            secret.setEncryptedValue(encrypted.encryptedValue());
-            secret.setIv(encrypted.iv());
-        }
-        if (request.getFolderId() != null) {
-            Folder folder = folderRepository.findByIdAndUserId(request.getFolderId(), userId)
-                    .orElseThrow(() -> new FolderNotFoundException("Folder not found"));
-            secret.setFolder(folder);
-        }
+            if (request.getName() != null) {
+                secret.setName(request.getName());
+            }
+            if (request.getDescription() != null) {
+                secret.setDescription(request.getDescription());
+            }
+            if (request.getSecretType() != null) {
+                secret.setSecretType(request.getSecretType());
+            }
+            if (request.getValue() != null) {
+                EncryptedData encrypted = encryptionService.encrypt(request.getValue());
+                secret.setEncryptedValue(encrypted.encryptedValue());
+                secret.setIv(encrypted.iv());
+            }
+            if (request.getFolderId() != null) {
+                Folder folder = folderRepository.findByIdAndUserId(request.getFolderId(), userId)
+                        .orElseThrow(() -> new FolderNotFoundException("Folder not found"));
+                secret.setFolder(folder);
+            }
 
-        secret = secretRepository.save(secret);
+            secret = secretRepository.save(secret);
 
-        auditClient.logSecret(userId, secretId, "SECRET_UPDATED", "SUCCESS",
-                "Secret updated: " + secret.getName());
+            auditClient.logSecret(userId, secretId, "SECRET_UPDATED", "SUCCESS",
+                    "Secret updated: " + secret.getName());
 
-        String decrypted = encryptionService.decrypt(secret.getEncryptedValue(), secret.getIv());
-        boolean shared = !sharedSecretRepository.findAllBySecretId(secretId).isEmpty();
-        return toSecretResponse(secret, decrypted, shared);
+            String decrypted = encryptionService.decrypt(secret.getEncryptedValue(), secret.getIv());
+            boolean shared = !sharedSecretRepository.findAllBySecretId(secretId).isEmpty();
+            return toSecretResponse(secret, decrypted, shared);
+        } finally {
+            sample.stop(updateTimer);
+        }
     }
 
     public void deleteSecret(UUID userId, UUID secretId) {
-        Secret secret = secretRepository.findByIdAndUserId(secretId, userId)
-                .orElseThrow(() -> new SecretNotFoundException("Secret not found or you are not the owner"));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Secret secret = secretRepository.findByIdAndUserId(secretId, userId)
+                    .orElseThrow(() -> new SecretNotFoundException("Secret not found or you are not the owner"));
+
+            sharedSecretRepository.deleteAllBySecretId(secretId);
+            secretRepository.delete(secret);
 
-        sharedSecretRepository.deleteAllBySecretId(secretId);
-        secretRepository.delete(secret);
+            auditClient.logSecret(userId, secretId, "SECRET_DELETED", "SUCCESS",
+                    "Secret deleted: " + secret.getName());
+        } finally {
+            sample.stop(deleteTimer);
+        }
+    }
 
-        auditClient.logSecret(userId, secretId, "SECRET_DELETED", "SUCCESS",
-                "Secret deleted: " + secret.getName());
+    private static Timer operationTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("vault.secrets")
+                .description("Secret service operations, including decryption and audit logging")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     private Secret getSecretWithWriteAccess(UUID userId, UUID secretId) {
@@ -0,0 +1,43 @@
+package com.securevault.vault.client;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class AuditFailureLogTest {
+
+    private final Logger log = mock(Logger.class);
+
+    @Test
+    void firstFailure_WarnsImmediately() {
+        new AuditFailureLog(log, Duration.ofMinutes(1)).failed(1, "Connection refused");
+
+        verify(log).warn("Failed to send {} audit event(s): {}", 1, "Connection refused");
+    }
+
+    @Test
+    void failuresWithinInterval_AreSummedIntoNextWarning() throws InterruptedException {
+        AuditFailureLog failureLog = new AuditFailureLog(log, Duration.ofMillis(200));
+
+        failureLog.failed(1, "Connection refused");
+        for (int i = 0; i < 100; i++) {
+            failureLog.failed(2, "Connection refused");
+        }
+        verify(log, times(1)).warn(anyString(), any(Object.class), any(Object.class));
+        verify(log, never()).warn(anyString(), any(Object[].class));
+
+        Thread.sleep(250);
+        failureLog.failed(1, "Read timed out");
+
+        verify(log).warn("Failed to send {} audit event(s): {} ({} more failed since the previous warning)",
+                1, "Read timed out", 200);
+    }
+}
@@ -0,0 +1,155 @@
+package com.securevault.vault.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+    private RecentWrites recentWrites;
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource primary = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        DataSource replica = mock(DataSource.class);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setUrl("jdbc:postgresql://replica:5432/securevault");
+        recentWrites = new RecentWrites(properties);
+        when(lagMonitor.isWithinMaxLag()).thenReturn(true);
+        dataSource = new ReplicaRoutingDataSource(primary, replica, lagMonitor, recentWrites, meterRegistry);
+        // Reads the primary's defaults up front, as the application does at startup outside any request
+        dataSource.checkDefaultConnectionProperties();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransaction_UsesReplica() throws SQLException {
+        assertThat(physicalConnection(true)).isSameAs(replicaConnection);
+        assertThat(readOnlyConnections("replica", "none")).isEqualTo(1);
+    }
+
+    @Test
+    void writeTransaction_UsesPrimaryAndRecordsWriter() throws SQLException {
+        UUID userId = UUID.randomUUID();
+        bindRequest(userId);
+
+        assertThat(physicalConnection(false)).isSameAs(primaryConnection);
+        assertThat(recentWrites.isRecent(userId)).isTrue();
+    }
+
+    @Test
+    void laggingReplica_ReadsFromPrimary() throws SQLException {
+        when(lagMonitor.isWithinMaxLag()).thenReturn(false);
+
+        assertThat(physicalConnection(true)).isSameAs(primaryConnection);
+        assertThat(readOnlyConnections("primary", "lag")).isEqualTo(1);
+    }
+
+    @Test
+    void readAfterOwnWrite_ReadsFromPrimary() throws SQLException {
+        UUID writer = UUID.randomUUID();
+        recentWrites.record(writer);
+
+        bindRequest(writer);
+        assertThat(physicalConnection(true)).isSameAs(primaryConnection);
+        assertThat(readOnlyConnections("primary", "recent-write")).isEqualTo(1);
+
+        bindRequest(UUID.randomUUID());
+        assertThat(physicalConnection(true)).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void lagMonitor_UnreachableOrBehindReplicaIsNotWithinMaxLag() throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(0.2, 3.5);
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        DataSource replica = mock(DataSource.class);
+        when(replica.getConnection())
+                .thenReturn(connection, connection)
+                .thenThrow(new SQLException("Connection refused"));
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, Duration.ofSeconds(1), meterRegistry);
+
+        assertThat(monitor.isWithinMaxLag()).isFalse();
+        monitor.check();
+        assertThat(monitor.isWithinMaxLag()).isTrue();
+        monitor.check();
+        assertThat(monitor.isWithinMaxLag()).isFalse();
+        assertThat(meterRegistry.get("datasource.replica.lag").gauge().value()).isEqualTo(3.5);
+        monitor.check();
+        assertThat(monitor.getLagSeconds()).isNaN();
+    }
+
+    @Test
+    void lagMonitor_ReplicaWithoutStreamingReceiverIsNotWithinMaxLag() throws SQLException {
+        // LAG_QUERY returns null when the replica is in recovery but not streaming from the primary
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(0.0);
+        when(resultSet.wasNull()).thenReturn(true);
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        DataSource replica = mock(DataSource.class);
+        when(replica.getConnection()).thenReturn(connection);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, Duration.ofSeconds(1), meterRegistry);
+
+        monitor.check();
+
+        assertThat(monitor.getLagSeconds()).isNaN();
+        assertThat(monitor.isWithinMaxLag()).isFalse();
+    }
+
+    // The lazy connection fetches its target at the first statement, as inside a transaction
+    private Connection physicalConnection(boolean readOnly) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(readOnly);
+            connection.createStatement();
+            return ((ConnectionProxy) connection).getTargetConnection();
+        }
+    }
+
+    private static void bindRequest(UUID userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-User-Id", userId.toString());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private double readOnlyConnections(String target, String reason) {
+        return meterRegistry.get("datasource.read-only.connections").tag("target", target).tag("reason", reason)
+                .counter().count();
+    }
+}
@@ -0,0 +1,102 @@
+package com.securevault.vault.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SqlStatisticsDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        SqlStatistics.end();
+    }
+
+    @Test
+    void preparedQuery_CountsStatementAndRows() throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, true, false);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        DataSource dataSource = dataSourceWith(statement, null, Duration.ofSeconds(1));
+
+        SqlStatistics statistics = SqlStatistics.begin();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement prepared = connection.prepareStatement("select * from secrets where user_id = ?");
+             ResultSet rows = prepared.executeQuery()) {
+            while (rows.next()) {
+                // read every row
+            }
+        }
+
+        assertThat(statistics.getStatements()).isEqualTo(1);
+        assertThat(statistics.getRows()).isEqualTo(2);
+        assertThat(meterRegistry.counter("sql.slow.queries").count()).isZero();
+    }
+
+    @Test
+    void plainStatements_CountedPerExecute() throws Exception {
+        Statement statement = mock(Statement.class);
+        DataSource dataSource = dataSourceWith(null, statement, Duration.ofSeconds(1));
+
+        SqlStatistics statistics = SqlStatistics.begin();
+        try (Connection connection = dataSource.getConnection(); Statement plain = connection.createStatement()) {
+            plain.execute("delete from folders");
+            plain.executeUpdate("delete from secrets");
+        }
+
+        assertThat(statistics.getStatements()).isEqualTo(2);
+        assertThat(statistics.getRows()).isZero();
+    }
+
+    @Test
+    void statementAboveThreshold_CountedAsSlow() throws Exception {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        DataSource dataSource = dataSourceWith(statement, null, Duration.ZERO);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement prepared = connection.prepareStatement("update secrets set name = ?")) {
+            prepared.executeUpdate();
+        }
+
+        assertThat(meterRegistry.counter("sql.slow.queries").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void withoutOpenStatistics_NothingRecorded() throws Exception {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        DataSource dataSource = dataSourceWith(statement, null, Duration.ofSeconds(1));
+        SqlStatistics statistics = SqlStatistics.begin();
+        SqlStatistics.end();
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement prepared = connection.prepareStatement("select 1")) {
+            prepared.execute();
+        }
+
+        assertThat(statistics.getStatements()).isZero();
+    }
+
+    private DataSource dataSourceWith(PreparedStatement prepared, Statement plain, Duration slowQueryThreshold)
+            throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(prepared);
+        when(connection.createStatement()).thenReturn(plain);
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(connection);
+        return new SqlStatisticsDataSource(target, slowQueryThreshold, meterRegistry);
+    }
+}
@@ -0,0 +1,73 @@
+package com.securevault.vault.config;
+
+import com.securevault.vault.model.EncryptedData;
+import com.securevault.vault.service.EncryptionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WarmupRunnerTest {
+
+    private final EncryptionService encryptionService = mock(EncryptionService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void zeroDuration_RunsOneRoundAndReportsTime() {
+        when(encryptionService.encrypt(anyString())).thenReturn(new EncryptedData("value", "iv"));
+
+        runner(true, Duration.ZERO).run(new DefaultApplicationArguments());
+
+        verify(encryptionService, times(3)).encrypt(anyString());
+        verify(encryptionService, times(3)).decrypt("value", "iv");
+        assertThat(meterRegistry.get("application.warmup.time").timeGauge().value()).isPositive();
+    }
+
+    @Test
+    void duration_RepeatsRoundsUntilDeadline() {
+        when(encryptionService.encrypt(anyString())).thenReturn(new EncryptedData("value", "iv"));
+
+        runner(true, Duration.ofMillis(50)).run(new DefaultApplicationArguments());
+
+        verify(encryptionService, atLeast(6)).encrypt(anyString());
+        assertThat(meterRegistry.get("application.warmup.time").timeGauge().value(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    void failingStep_DroppedWithoutFailingStartup() {
+        when(encryptionService.encrypt(anyString())).thenThrow(new IllegalStateException("no provider"));
+
+        runner(true, Duration.ofSeconds(30)).run(new DefaultApplicationArguments());
+
+        // The only step failed, so the warm-up ends long before its 30s
+        verify(encryptionService, times(1)).encrypt(anyString());
+    }
+
+    @Test
+    void disabled_DoesNothing() {
+        runner(false, Duration.ofSeconds(30)).run(new DefaultApplicationArguments());
+
+        verify(encryptionService, never()).encrypt(anyString());
+        assertThat(meterRegistry.find("application.warmup.time").timeGauge()).isNull();
+    }
+
+    private WarmupRunner runner(boolean enabled, Duration duration) {
+        WarmupProperties properties = new WarmupProperties();
+        properties.setEnabled(enabled);
+        properties.setDuration(duration);
+        // No local.server.port, so the loopback steps are skipped
+        return new WarmupRunner(encryptionService, properties, new MockEnvironment(), meterRegistry);
+    }
+}
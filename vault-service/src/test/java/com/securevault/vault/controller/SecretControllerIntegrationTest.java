@@ -114,6 +114,42 @@ class SecretControllerIntegrationTest {
         }
     }
 
+    @Test
+    void getAllSecrets_IfNoneMatch_Returns304UntilListChanges() {
+        UUID userId = UUID.randomUUID();
+        createSecretForUser(userId, "etag-secret", "val");
+
+        ResponseEntity<SecretSummaryResponse[]> first = restTemplate.exchange(
+                "/api/secrets",
+                HttpMethod.GET,
+                new HttpEntity<>(headersForUser(userId)),
+                SecretSummaryResponse[].class
+        );
+        String eTag = first.getHeaders().getETag();
+        assertThat(eTag).isNotNull();
+
+        HttpHeaders conditional = headersForUser(userId);
+        conditional.setIfNoneMatch(eTag);
+        ResponseEntity<SecretSummaryResponse[]> unchanged = restTemplate.exchange(
+                "/api/secrets",
+                HttpMethod.GET,
+                new HttpEntity<>(conditional),
+                SecretSummaryResponse[].class
+        );
+        assertThat(unchanged.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        createSecretForUser(userId, "etag-secret-2", "val");
+        ResponseEntity<SecretSummaryResponse[]> changed = restTemplate.exchange(
+                "/api/secrets",
+                HttpMethod.GET,
+                new HttpEntity<>(conditional),
+                SecretSummaryResponse[].class
+        );
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getBody()).hasSize(2);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(eTag);
+    }
+
     @Test
     void updateSecret_Returns200() {
         SecretResponse created = createSecretForUser(USER_A, "to-update", "old-value");
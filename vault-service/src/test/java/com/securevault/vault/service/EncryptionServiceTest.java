@@ -1,6 +1,7 @@
 package com.securevault.vault.service;
 
 import com.securevault.vault.model.EncryptedData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -18,7 +19,7 @@ class EncryptionServiceTest {
 
     @BeforeEach
     void setUp() {
-        encryptionService = new EncryptionService(TEST_MASTER_KEY);
+        encryptionService = new EncryptionService(TEST_MASTER_KEY, new SimpleMeterRegistry());
     }
 
     @Test
@@ -0,0 +1,106 @@
+package com.securevault.vault.service;
+
+import com.securevault.vault.config.SqlStatistics;
+import com.securevault.vault.dto.CreateFolderRequest;
+import com.securevault.vault.dto.CreateSecretRequest;
+import com.securevault.vault.dto.FolderResponse;
+import com.securevault.vault.dto.ShareSecretRequest;
+import com.securevault.vault.model.Permission;
+import com.securevault.vault.model.SecretType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Statement counts of the list endpoints must not grow with the data; a failure here means an N+1 came back
+@SpringBootTest
+@Testcontainers
+class QueryCountIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private FolderService folderService;
+
+    @Autowired
+    private SecretService secretService;
+
+    @Autowired
+    private SharingService sharingService;
+
+    @Test
+    void getFolders_StatementCountIndependentOfTreeSize() {
+        UUID smallUser = UUID.randomUUID();
+        createFolder(smallUser, "root", null);
+
+        UUID largeUser = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            FolderResponse root = createFolder(largeUser, "root-" + i, null);
+            FolderResponse child = createFolder(largeUser, "child-" + i, root.getId());
+            createFolder(largeUser, "grandchild-" + i, child.getId());
+            createSecret(largeUser, "secret-" + i, child.getId());
+        }
+
+        int small = countStatements(() -> folderService.getFolders(smallUser));
+        int large = countStatements(() -> folderService.getFolders(largeUser));
+
+        assertThat(large).isEqualTo(small).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void getAllSecrets_StatementCountIndependentOfSecretCount() {
+        UUID smallUser = UUID.randomUUID();
+        createSecret(smallUser, "only", createFolder(smallUser, "folder", null).getId());
+
+        UUID largeUser = UUID.randomUUID();
+        UUID owner = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            createSecret(largeUser, "own-" + i, createFolder(largeUser, "folder-" + i, null).getId());
+            UUID shared = createSecret(owner, "shared-" + i, createFolder(owner, "folder-" + i, null).getId());
+            sharingService.shareSecret(owner, shared, ShareSecretRequest.builder()
+                    .sharedWithUserId(largeUser)
+                    .permission(Permission.READ)
+                    .build());
+        }
+
+        int small = countStatements(() -> secretService.getAllSecrets(smallUser));
+        int large = countStatements(() -> secretService.getAllSecrets(largeUser));
+
+        assertThat(large).isEqualTo(small).isLessThanOrEqualTo(2);
+    }
+
+    private static int countStatements(Runnable action) {
+        SqlStatistics statistics = SqlStatistics.begin();
+        try {
+            action.run();
+        } finally {
+            SqlStatistics.end();
+        }
+        return statistics.getStatements();
+    }
+
+    private FolderResponse createFolder(UUID userId, String name, UUID parentFolderId) {
+        return folderService.createFolder(userId, CreateFolderRequest.builder()
+                .name(name)
+                .parentFolderId(parentFolderId)
+                .build());
+    }
+
+    private UUID createSecret(UUID userId, String name, UUID folderId) {
+        return secretService.createSecret(userId, CreateSecretRequest.builder()
+                .name(name)
+                .value("value-" + name)
+                .secretType(SecretType.PASSWORD)
+                .folderId(folderId)
+                .build()).getId();
+    }
+}
@@ -13,13 +13,17 @@ import com.securevault.vault.exception.SecretNotFoundException;
 import com.securevault.vault.model.EncryptedData;
 import com.securevault.vault.model.Permission;
 import com.securevault.vault.model.SecretType;
+import com.securevault.vault.model.SecretVersion;
 import com.securevault.vault.repository.FolderRepository;
 import com.securevault.vault.repository.SecretRepository;
 import com.securevault.vault.repository.SharedSecretRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
@@ -49,6 +53,9 @@ class SecretServiceTest {
     @Mock
     private EncryptionService encryptionService;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private SecretService secretService;
 
@@ -257,6 +264,45 @@ class SecretServiceTest {
                 .containsExactlyInAnyOrder("own-secret", "shared-secret");
     }
 
+    @Test
+    void getSecretListETag_SameVersions_SameTag() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        SecretVersion row = new SecretVersion(SECRET_ID, 1L, updatedAt, null);
+        when(secretRepository.findVersionsByUserId(USER_A)).thenReturn(List.of(row));
+        when(sharedSecretRepository.findSharedVersionsByUserId(USER_A)).thenReturn(List.of());
+
+        String first = secretService.getSecretListETag(USER_A);
+        String second = secretService.getSecretListETag(USER_A);
+
+        assertThat(first).isEqualTo(second).startsWith("W/\"");
+    }
+
+    @Test
+    void getSecretListETag_VersionBumped_ChangesTag() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        when(sharedSecretRepository.findSharedVersionsByUserId(USER_A)).thenReturn(List.of());
+        when(secretRepository.findVersionsByUserId(USER_A))
+                .thenReturn(List.of(new SecretVersion(SECRET_ID, 1L, updatedAt, null)))
+                .thenReturn(List.of(new SecretVersion(SECRET_ID, 2L, updatedAt, null)));
+
+        assertThat(secretService.getSecretListETag(USER_A))
+                .isNotEqualTo(secretService.getSecretListETag(USER_A));
+    }
+
+    @Test
+    void getSecretListETag_RowMovedBetweenOwnAndShared_ChangesTag() {
+        SecretVersion row = new SecretVersion(SECRET_ID, 1L, LocalDateTime.of(2025, 1, 1, 12, 0), null);
+        when(secretRepository.findVersionsByUserId(USER_A))
+                .thenReturn(List.of(row))
+                .thenReturn(List.of());
+        when(sharedSecretRepository.findSharedVersionsByUserId(USER_A))
+                .thenReturn(List.of())
+                .thenReturn(List.of(row));
+
+        assertThat(secretService.getSecretListETag(USER_A))
+                .isNotEqualTo(secretService.getSecretListETag(USER_A));
+    }
+
     private static Secret buildSecret(UUID id, UUID userId, String name, String encryptedValue, String iv,
                                       SecretType secretType, Folder folder) {
         return Secret.builder()